@@ -1,14 +1,20 @@
 package com.netbull.apiclient;
 
+import com.netbull.apiclient.config.TrainingRunListener;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 @EnableWebMvc
+@EnableScheduling
 public class ApiClientApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ApiClientApplication.class, args);
+		SpringApplication application = new SpringApplication(ApiClientApplication.class);
+		application.addListeners(new TrainingRunListener());
+		application.run(args);
 	}
 }
@@ -0,0 +1,85 @@
+package com.netbull.apiclient.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência observada. Mantém uma média curta e uma
+ * longa do tempo de resposta: enquanto a curta acompanha a longa o limite cresce pela raiz do limite
+ * atual; quando a curta sobe (fila no pool JDBC, por exemplo) o limite cai na proporção longa/curta.
+ * O limite só cresce com pelo menos metade dele em uso, para não crescer sem carga que o justifique.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_SMOOTHING = 2.0 / (10 + 1);
+
+    private static final double LONG_SMOOTHING = 2.0 / (600 + 1);
+
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private static final double TOLERANCE = 1.5;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private volatile double limit;
+
+    private double shortRtt;
+
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        for (int current = inFlight.get(); current < (int) limit; current = inFlight.get()) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void release(long rttNanos) {
+        sample(inFlight.getAndDecrement(), rttNanos);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(shortRtt / 1_000_000_000.0));
+    }
+
+    private synchronized void sample(int inFlight, long rttNanos) {
+        if (shortRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        } else {
+            shortRtt += (rttNanos - shortRtt) * SHORT_SMOOTHING;
+            longRtt += (rttNanos - longRtt) * LONG_SMOOTHING;
+        }
+
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+
+        if (inFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING));
+    }
+}
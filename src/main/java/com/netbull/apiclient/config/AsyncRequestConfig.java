@@ -0,0 +1,28 @@
+package com.netbull.apiclient.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Tempo máximo das respostas assíncronas (async.request.timeout). Com @EnableWebMvc a propriedade
+ * spring.mvc.async.request-timeout não é aplicada e valeria o padrão do Tomcat (30s), que corta no
+ * meio a exportação de pedidos, a resposta assíncrona mais longa.
+ */
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+
+    private Duration timeout;
+
+    public AsyncRequestConfig(@Value("${async.request.timeout:30m}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+}
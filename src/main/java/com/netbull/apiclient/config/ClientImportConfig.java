@@ -0,0 +1,31 @@
+package com.netbull.apiclient.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool da importação de clientes em lote. A validação e o hash BCrypt das senhas são limitados por
+ * CPU, então o pool tem no máximo uma thread por processador (client.import.threads).
+ */
+@Configuration
+public class ClientImportConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService clientImportExecutor(
+            @Value("${client.import.threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "client-import-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(size, factory);
+    }
+}
@@ -0,0 +1,44 @@
+package com.netbull.apiclient.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "concurrency.limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private MeterRegistry meterRegistry;
+
+    private int initialLimit;
+
+    private int minLimit;
+
+    private int maxLimit;
+
+    public ConcurrencyLimitConfig(MeterRegistry meterRegistry,
+                                  @Value("${concurrency.limit.initial:20}") int initialLimit,
+                                  @Value("${concurrency.limit.min:4}") int minLimit,
+                                  @Value("${concurrency.limit.max:200}") int maxLimit) {
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor("order"))
+                .addPathPatterns("/v1/clients/orders", "/v1/clients/orders/async", "/v1/clients/orders/bulk");
+        registry.addInterceptor(interceptor("signup"))
+                .addPathPatterns("/v1/clients", "/v1/clients/bulk");
+    }
+
+    private ConcurrencyLimitInterceptor interceptor(String endpoint) {
+        return new ConcurrencyLimitInterceptor(endpoint,
+                new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit), meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.netbull.apiclient.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Pool JDBC usado pelo JPA, montado a partir de spring.datasource.*. Precisa ser declarado aqui porque
+ * o starter do R2DBC registra um ConnectionFactory e, com ele no contexto, o DataSourceAutoConfiguration
+ * do Spring Boot não cria o DataSource. Com réplica configurada este pool é o principal de
+ * {@link ReadReplicaConfig}.
+ *
+ * O DataSource da aplicação (dataSource) é uma camada sobre o pool, ou sobre o roteamento para a réplica,
+ * e é só ele que a contabilização de SQL envolve; os pools continuam HikariDataSource.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRouting) {
+        ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        return routing == null
+                ? new DelegatingDataSource(primaryDataSource)
+                : new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,95 @@
+package com.netbull.apiclient.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolationException;
+import javax.ws.rs.NotFoundException;
+
+/**
+ * Timers com histograma de percentis para os métodos públicos de ClientService, AddressService e
+ * OrderService, os consumidores do RabbitMQ e as publicações do RabbitTemplate, com a tag outcome
+ * indicando o resultado da chamada. Os serviços chamados de dentro deles, como a reserva de estoque,
+ * ficam fora para que o mesmo tempo não seja contado duas vezes.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    public static final String SERVICE_TIMER = "app.service";
+    public static final String LISTENER_TIMER = "app.listener";
+    public static final String PUBLISH_TIMER = "app.publish";
+
+    private MeterRegistry meterRegistry;
+
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.netbull.apiclient.service.ClientService.*(..)) || " +
+            "execution(public * com.netbull.apiclient.service.AddressService.*(..)) || " +
+            "execution(public * com.netbull.apiclient.service.OrderService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        return time(joinPoint, Timer.builder(SERVICE_TIMER)
+                .tag("class", signature.getDeclaringType().getSimpleName())
+                .tag("method", signature.getName()));
+    }
+
+    @Around("@annotation(rabbitListener)")
+    public Object timeListener(ProceedingJoinPoint joinPoint, RabbitListener rabbitListener) throws Throwable {
+        return time(joinPoint, Timer.builder(LISTENER_TIMER)
+                .tag("queue", String.join(",", rabbitListener.queues()))
+                .tag("method", joinPoint.getSignature().getName()));
+    }
+
+    @Around("execution(public void org.springframework.amqp.rabbit.core.RabbitTemplate.convertAndSend(String, String, Object))")
+    public Object timePublish(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        return time(joinPoint, Timer.builder(PUBLISH_TIMER)
+                .tag("exchange", String.valueOf(args[0]))
+                .tag("routing_key", String.valueOf(args[1])));
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, Timer.Builder builder) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(builder
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof NotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof ConstraintViolationException || e instanceof IllegalArgumentException) {
+            return "validation_failure";
+        }
+        if (e instanceof DuplicateKeyException || e instanceof DataIntegrityViolationException) {
+            return "duplicate";
+        }
+        if (e instanceof ConcurrencyFailureException) {
+            return "conflict";
+        }
+        return "error";
+    }
+}
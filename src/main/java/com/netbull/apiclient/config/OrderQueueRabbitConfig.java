@@ -32,6 +32,25 @@ public class OrderQueueRabbitConfig {
                 .noargs();
     }
 
+    @Bean
+    public Queue orderAcceptedQueue() {
+        return QueueBuilder
+                .durable("order-client-accepted")
+                .deadLetterExchange("order-client")
+                .deadLetterRoutingKey("order.client.deadLetter")
+                .deliveryLimit(5)
+                .build();
+    }
+
+    @Bean
+    public Binding orderAcceptedBiding() {
+        return BindingBuilder
+                .bind(this.orderAcceptedQueue())
+                .to(this.orderExchange())
+                .with("order.client.accepted")
+                .noargs();
+    }
+
     @Bean
     public Queue orderDeadLetterQueue() {
         return QueueBuilder
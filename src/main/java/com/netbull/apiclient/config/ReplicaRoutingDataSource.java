@@ -0,0 +1,90 @@
+package com.netbull.apiclient.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envia as transações somente leitura para a réplica e o resto para o banco principal. Depois que um
+ * usuário conclui uma transação de escrita, as leituras dele continuam no principal por readYourWrites,
+ * para que ele não leia da réplica um estado anterior à própria escrita. O registro é por instância e
+ * guarda só as escritas dentro dessa janela: as vencidas saem na leitura do usuário e, para quem não
+ * lê mais, numa varredura feita por uma das escritas a cada readYourWrites.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    static final String REPLICA = "replica";
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final long readYourWritesNanos;
+
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWrites) {
+        this.readYourWritesNanos = readYourWrites.toNanos();
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(user);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        return user != null && wroteRecently(user) ? PRIMARY : REPLICA;
+    }
+
+    void recordWrite(String user) {
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+
+        long sweep = nextSweep.get();
+        if (now - sweep >= 0 && nextSweep.compareAndSet(sweep, now + readYourWritesNanos)) {
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= readYourWritesNanos);
+        }
+    }
+
+    int trackedUsers() {
+        return lastWrites.size();
+    }
+
+    private boolean wroteRecently(String user) {
+        Long lastWrite = lastWrites.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < readYourWritesNanos) {
+            return true;
+        }
+        lastWrites.remove(user, lastWrite);
+        return false;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.netbull.apiclient.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Amostragem dos eventos de alto volume: das mensagens INFO ou abaixo cujo modelo começa por um dos
+ * prefixos configurados (logging.sample.messages), só uma a cada logging.sample.rate é registrada.
+ * WARN e ERROR passam sempre. O filtro roda na thread que loga, antes do evento entrar na fila do
+ * appender assíncrono.
+ */
+public class SampledLogFilter extends Filter<ILoggingEvent> {
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private List<String> prefixes = List.of();
+
+    private int rate = 1;
+
+    public void setMessages(String messages) {
+        this.prefixes = Arrays.stream(messages.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate == 1 || event.getLevel().isGreaterOrEqual(Level.WARN) || event.getMessage() == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        for (String prefix : prefixes) {
+            if (event.getMessage().startsWith(prefix)) {
+                long count = counters.computeIfAbsent(prefix, key -> new AtomicLong()).getAndIncrement();
+                return count % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+
+        return FilterReply.NEUTRAL;
+    }
+}
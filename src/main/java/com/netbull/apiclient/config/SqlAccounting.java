@@ -0,0 +1,93 @@
+package com.netbull.apiclient.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contabiliza, por requisição HTTP ou mensagem consumida, os comandos JDBC executados, as linhas lidas
+ * e o tempo gasto no banco. Os contadores ficam na thread corrente, alimentados pelo proxy do DataSource
+ * em {@link SqlAccountingConfig}, e são publicados como app.sql.statements, app.sql.rows e app.sql.time.
+ */
+@Component
+public class SqlAccounting {
+
+    public static final String HEADER = "X-SQL-Stats";
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private MeterRegistry meterRegistry;
+
+    public SqlAccounting(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static void begin() {
+        CURRENT.set(new Stats());
+    }
+
+    public static Stats current() {
+        return CURRENT.get();
+    }
+
+    static void statement(long elapsedMillis) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.millis += elapsedMillis;
+        }
+    }
+
+    static void row() {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows++;
+        }
+    }
+
+    public void end(String source, String operation) {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        if (stats == null) {
+            return;
+        }
+
+        DistributionSummary.builder("app.sql.statements")
+                .tag("source", source)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.statements);
+        DistributionSummary.builder("app.sql.rows")
+                .tag("source", source)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.rows);
+        Timer.builder("app.sql.time")
+                .tag("source", source)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Getter
+    public static class Stats {
+
+        private long statements;
+
+        private long rows;
+
+        private long millis;
+
+        @Override
+        public String toString() {
+            return "statements=" + statements + ";rows=" + rows + ";time=" + millis + "ms";
+        }
+    }
+}
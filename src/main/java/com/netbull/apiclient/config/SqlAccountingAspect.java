@@ -0,0 +1,28 @@
+package com.netbull.apiclient.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class SqlAccountingAspect {
+
+    private SqlAccounting sqlAccounting;
+
+    public SqlAccountingAspect(SqlAccounting sqlAccounting) {
+        this.sqlAccounting = sqlAccounting;
+    }
+
+    @Around("@annotation(rabbitListener)")
+    public Object accountListener(ProceedingJoinPoint joinPoint, RabbitListener rabbitListener) throws Throwable {
+        SqlAccounting.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            sqlAccounting.end("listener", String.join(",", rabbitListener.queues()));
+        }
+    }
+}
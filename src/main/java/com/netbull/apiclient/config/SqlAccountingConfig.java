@@ -0,0 +1,54 @@
+package com.netbull.apiclient.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+
+@Configuration
+public class SqlAccountingConfig implements WebMvcConfigurer {
+
+    private SqlAccounting sqlAccounting;
+
+    public SqlAccountingConfig(SqlAccounting sqlAccounting) {
+        this.sqlAccounting = sqlAccounting;
+    }
+
+    /**
+     * Envolve só o DataSource da aplicação (dataSource, ver {@link DataSourceConfig}), que fica acima do
+     * roteamento para a réplica: cada comando é contado uma vez e os pools mantêm o próprio tipo.
+     */
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .afterQuery((execInfo, queryInfoList) -> SqlAccounting.statement(execInfo.getElapsedTime()))
+                        .proxyResultSet()
+                        .afterMethod(context -> {
+                            if (context.getTarget() instanceof ResultSet
+                                    && "next".equals(context.getMethod().getName())
+                                    && Boolean.TRUE.equals(context.getResult())) {
+                                SqlAccounting.row();
+                            }
+                        })
+                        .build();
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlAccountingInterceptor(sqlAccounting));
+    }
+}
@@ -0,0 +1,33 @@
+package com.netbull.apiclient.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+
+/**
+ * Encerra a aplicação assim que ela fica pronta quando startup.training-run=true. Usado pelo perfil
+ * fast-start para gravar a lista das classes carregadas na subida (-XX:DumpLoadedClassList), da qual
+ * sai o arquivo AppCDS. Registrado no main, e não como bean condicional, porque o processamento AOT avalia as
+ * condições em tempo de build.
+ */
+@Slf4j
+public class TrainingRunListener implements ApplicationListener<ApplicationReadyEvent>, Ordered {
+
+    public static final String PROPERTY = "startup.training-run";
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!event.getApplicationContext().getEnvironment().getProperty(PROPERTY, Boolean.class, false)) {
+            return;
+        }
+        log.info("Execução de treino concluída, encerrando a aplicação.");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
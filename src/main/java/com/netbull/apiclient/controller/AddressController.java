@@ -1,15 +1,20 @@
 package com.netbull.apiclient.controller;
 
+import com.netbull.apiclient.domain.BulkResult;
+import com.netbull.apiclient.domain.EntityVersion;
 import com.netbull.apiclient.domain.address.Address;
 import com.netbull.apiclient.domain.address.Type;
 import com.netbull.apiclient.service.AddressService;
+import com.netbull.apiclient.utility.EntityTags;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
 
 import javax.validation.Validator;
@@ -45,20 +50,36 @@ public class AddressController {
         return ResponseEntity.created(uri).body("Endereço criado.");
     }
 
+    @Operation(summary = "Criar vários endereços de uma vez, retornando o resultado de cada um.")
+    @PostMapping(path = "/bulk", produces = MediaType.APPLICATION_JSON, consumes = MediaType.APPLICATION_JSON)
+    public ResponseEntity<List<BulkResult>> createAddresses(@RequestBody List<Address> addresses) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        return ResponseEntity.ok(this.addressService.persistAddresses(addresses, auth.getName()));
+    }
+
     @Operation(summary = "Buscar os endereços de cliente.")
     @GetMapping(produces = {MediaType.APPLICATION_JSON})
-    public ResponseEntity<Set<Address>> getAddressByClient() {
+    public ResponseEntity<Set<Address>> getAddressByClient(WebRequest request) {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        List<EntityVersion> versions = this.addressService.getAddressVersionsByClientEmail(auth.getName());
+        String eTag = EntityTags.ofVersions(versions);
+
+        if (!versions.isEmpty() && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         Set<Address> addresses = this.addressService.getAddressByClientEmail(auth.getName());
 
-        return ResponseEntity.ok(addresses);
+        return ResponseEntity.ok().eTag(eTag).body(addresses);
     }
 
     @Operation(summary = "Buscar os tipos de endereços permitidos.")
     @GetMapping(path = "/types", produces = {MediaType.APPLICATION_JSON})
     public ResponseEntity<List<Type>> getAllTypeAddresses() {
-        return ResponseEntity.ok(this.addressService.getTypeAddresses());
+        List<Type> types = this.addressService.getTypeAddresses();
+        return ResponseEntity.ok().eTag(EntityTags.ofTypes(types)).body(types);
     }
 
     @Operation(summary = "Buscar um endereço por id.")
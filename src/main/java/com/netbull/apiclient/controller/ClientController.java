@@ -1,8 +1,12 @@
 package com.netbull.apiclient.controller;
 
+import com.netbull.apiclient.domain.EntityVersion;
 import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientImportReport;
 import com.netbull.apiclient.service.AddressService;
+import com.netbull.apiclient.service.ClientImportService;
 import com.netbull.apiclient.service.ClientService;
+import com.netbull.apiclient.utility.EntityTags;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.api.annotations.ParameterObject;
@@ -13,15 +17,18 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
 
 import javax.ws.rs.core.MediaType;
 import java.math.BigInteger;
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @Controller
@@ -35,6 +42,9 @@ public class ClientController {
     @Autowired
     AddressService addressService;
 
+    @Autowired
+    ClientImportService clientImportService;
+
     @Operation(summary = "Criar um cliente.")
     @PostMapping(produces = MediaType.APPLICATION_JSON, consumes = MediaType.APPLICATION_JSON)
     public ResponseEntity<String> createClient(@RequestBody Client client) {
@@ -49,6 +59,15 @@ public class ClientController {
         return ResponseEntity.created(uri).body("Cliente salvo.");
     }
 
+    @Operation(summary = "Importar clientes em lote, retornando o resultado de cada registro e a vazão. " +
+            "Permitido só aos usuários de client.import.allowed-users.")
+    @PreAuthorize("@clientImportService.isAllowed(authentication.name)")
+    @PostMapping(path = "/bulk", produces = MediaType.APPLICATION_JSON, consumes = MediaType.APPLICATION_JSON)
+    public ResponseEntity<ClientImportReport> importClients(@RequestBody List<Client> clients) {
+
+        return ResponseEntity.ok(this.clientImportService.importClients(clients));
+    }
+
     @Operation(summary = "Buscar todos os clientes.")
     @GetMapping( produces = {MediaType.APPLICATION_JSON})
     public ResponseEntity<Page<Client>> getAllClients(
@@ -61,10 +80,22 @@ public class ClientController {
 
     @Operation(summary = "Buscar um cliente pelo id.")
     @GetMapping(path = "/{id}", produces = {MediaType.APPLICATION_JSON})
-    public ResponseEntity<Client> getClientById(@PathVariable BigInteger id) {
+    public ResponseEntity<Client> getClientById(@PathVariable BigInteger id, WebRequest request) {
+
+        EntityVersion version = clientService.getClientVersionById(id);
+        String eTag = EntityTags.of(version);
+        long lastModified = version.getLastModified() == null ? -1 : version.getLastModified().toEpochMilli();
+
+        if (request.checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
 
         Client client = clientService.getClientById(id);
-        return ResponseEntity.ok(client);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(client);
     }
 
     @Operation(summary = "Buscar um cliente por email.")
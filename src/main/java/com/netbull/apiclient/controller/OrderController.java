@@ -1,7 +1,11 @@
 package com.netbull.apiclient.controller;
 
+import com.netbull.apiclient.domain.BulkResult;
 import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.domain.order.OrderRequest;
 import com.netbull.apiclient.domain.order.OrderState;
+import com.netbull.apiclient.service.OrderAcceptanceService;
+import com.netbull.apiclient.service.OrderExportService;
 import com.netbull.apiclient.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.extern.slf4j.Slf4j;
@@ -17,10 +21,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.ws.rs.core.MediaType;
 import java.math.BigInteger;
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @Controller
@@ -28,9 +34,17 @@ import java.net.URI;
 @RequestMapping(path = "/v1/clients/orders")
 public class OrderController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     @Autowired
     OrderService orderService;
 
+    @Autowired
+    OrderExportService orderExportService;
+
+    @Autowired
+    OrderAcceptanceService orderAcceptanceService;
+
     @Operation(summary = "Criar um pedido.")
     @PostMapping(produces = MediaType.APPLICATION_JSON, consumes = MediaType.APPLICATION_JSON)
     public ResponseEntity<String> createPedido(@RequestBody Order order) {
@@ -45,6 +59,36 @@ public class OrderController {
         return ResponseEntity.created(uri).body("Pedido criado.");
     }
 
+    @Operation(summary = "Aceitar um pedido para criação assíncrona, retornando a referência para consulta.")
+    @PostMapping(path = "/async", produces = MediaType.APPLICATION_JSON, consumes = MediaType.APPLICATION_JSON)
+    public ResponseEntity<OrderRequest> acceptPedido(@RequestBody Order order) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        OrderRequest request = this.orderAcceptanceService.acceptOrder(order, auth.getName());
+
+        URI uri = MvcUriComponentsBuilder.fromController(getClass())
+                .path("/requests/{reference}")
+                .buildAndExpand(request.getReference())
+                .toUri();
+
+        return ResponseEntity.accepted().location(uri).body(request);
+    }
+
+    @Operation(summary = "Consultar o andamento de um pedido aceito pela rota assíncrona.")
+    @GetMapping(path = "/requests/{reference}", produces = {MediaType.APPLICATION_JSON})
+    public ResponseEntity<OrderRequest> getPedidoRequest(@PathVariable String reference) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        return ResponseEntity.ok(this.orderAcceptanceService.getOrderRequest(reference, auth.getName()));
+    }
+
+    @Operation(summary = "Criar vários pedidos de uma vez, retornando o resultado de cada um.")
+    @PostMapping(path = "/bulk", produces = MediaType.APPLICATION_JSON, consumes = MediaType.APPLICATION_JSON)
+    public ResponseEntity<List<BulkResult>> createPedidos(@RequestBody List<Order> orders) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        return ResponseEntity.ok(this.orderService.persistOrders(orders, auth.getName()));
+    }
+
     @Operation(summary = "Buscar todos os pedidos do cliente.")
     @GetMapping( produces = {MediaType.APPLICATION_JSON})
     public ResponseEntity<Page<Order>> getAllOrders(
@@ -57,6 +101,17 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    @Operation(summary = "Exportar todos os pedidos do cliente, um pedido JSON por linha.")
+    @GetMapping(path = "/export", produces = {APPLICATION_NDJSON})
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        StreamingResponseBody body = orderExportService.exportOrdersByClient(auth.getName());
+
+        return ResponseEntity.ok()
+                .contentType(org.springframework.http.MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(body);
+    }
+
     @Operation(summary = "Buscar um pedido pelo id.")
     @GetMapping(path = "/{id}", produces = {MediaType.APPLICATION_JSON})
     public ResponseEntity<Order> getOrderById(@PathVariable BigInteger id) {
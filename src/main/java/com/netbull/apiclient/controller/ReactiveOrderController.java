@@ -0,0 +1,46 @@
+package com.netbull.apiclient.controller;
+
+import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.service.ReactiveOrderQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springdoc.api.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import javax.ws.rs.core.MediaType;
+import java.math.BigInteger;
+
+@RestController
+@RequestMapping(path = "/v1/clients/orders/reactive")
+public class ReactiveOrderController {
+
+    @Autowired
+    ReactiveOrderQueryService reactiveOrderQueryService;
+
+    @Operation(summary = "Buscar todos os pedidos do cliente, sem bloquear a requisição.")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON})
+    public Mono<Page<Order>> getAllOrders(
+            @ParameterObject @PageableDefault(sort = {"id"}, direction = Sort.Direction.ASC,
+            page = 0, size = 10) Pageable pageable) {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return reactiveOrderQueryService.getOrdersPageByClient(pageable, auth.getName());
+    }
+
+    @Operation(summary = "Buscar um pedido pelo id, sem bloquear a requisição.")
+    @GetMapping(path = "/{id}", produces = {MediaType.APPLICATION_JSON})
+    public Mono<Order> getOrderById(@PathVariable BigInteger id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return reactiveOrderQueryService.getOrderById(id, auth.getName());
+    }
+}
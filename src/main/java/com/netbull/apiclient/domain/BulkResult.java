@@ -0,0 +1,40 @@
+package com.netbull.apiclient.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import java.math.BigInteger;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkResult {
+
+    private final int index;
+
+    private final int status;
+
+    private final BigInteger id;
+
+    private final String message;
+
+    public static BulkResult created(int index, BigInteger id, String message) {
+        return new BulkResult(index, 201, id, message);
+    }
+
+    public static BulkResult rejected(int index, int status, String message) {
+        return new BulkResult(index, status, null, message);
+    }
+
+    public static BulkResult rejected(int index, ConstraintViolationException e) {
+        return rejected(index, 400, e.getConstraintViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(" ")));
+    }
+}
@@ -0,0 +1,13 @@
+package com.netbull.apiclient.domain;
+
+import java.math.BigInteger;
+import java.time.Instant;
+
+public interface EntityVersion {
+
+    BigInteger getId();
+
+    Long getVersion();
+
+    Instant getLastModified();
+}
@@ -1,11 +1,13 @@
 package com.netbull.apiclient.domain.address;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.netbull.apiclient.domain.client.Client;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -13,6 +15,7 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.time.Instant;
 
 @NoArgsConstructor
 @Getter
@@ -21,10 +24,12 @@ import java.math.BigInteger;
 @Table(name = "address")
 public class Address implements Serializable {
 
+    public static final int BULK_MAX_SIZE = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_address")
     @SequenceGenerator(name = "sequence_address",sequenceName = "sequence_address",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 1)
     private BigInteger id;
 
@@ -49,13 +54,21 @@ public class Address implements Serializable {
     private String state;
 
     @NotNull(message = "O tipo não pode ser nulo.")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "type_id")
     private Type type;
 
     @JsonIgnoreProperties({"name", "cpf", "email", "birthday", "password"})
     @NotNull(message = "O cliente não pode ser nulo.")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id")
     private Client client;
+
+    @JsonIgnore
+    @Version
+    private Long version;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    private Instant lastModified;
 }
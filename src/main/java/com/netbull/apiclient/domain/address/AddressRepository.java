@@ -1,15 +1,25 @@
 package com.netbull.apiclient.domain.address;
 
+import com.netbull.apiclient.domain.EntityVersion;
 import com.netbull.apiclient.domain.client.Client;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 @Repository
 public interface AddressRepository extends JpaRepository<Address, BigInteger> {
 
+    @EntityGraph(attributePaths = {"type", "client"})
     public Optional<Set<Address>> findByClient(Client client);
+
+    @Override
+    @EntityGraph(attributePaths = {"type", "client"})
+    public Optional<Address> findById(BigInteger id);
+
+    public List<EntityVersion> findVersionsByClientEmailOrderById(String email);
 }
@@ -3,6 +3,8 @@ package com.netbull.apiclient.domain.address;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -13,6 +15,7 @@ import java.io.Serializable;
 @Setter
 @Entity
 @Table(name = "address_type")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "type")
 public class Type implements Serializable {
 
     @Id
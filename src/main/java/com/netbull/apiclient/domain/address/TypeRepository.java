@@ -1,8 +1,18 @@
 package com.netbull.apiclient.domain.address;
 
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 @Repository
 public interface TypeRepository extends CrudRepository<Type, Integer> {
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "type-list")
+    })
+    public Iterable<Type> findAll();
 }
@@ -1,5 +1,6 @@
 package com.netbull.apiclient.domain.client;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -8,11 +9,13 @@ import com.netbull.apiclient.utility.JsonLocalDateSerializer;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -23,10 +26,12 @@ import java.util.Objects;
 @Table(name = "cliente")
 public class Client implements Serializable {
 
+    public static final int BULK_MAX_SIZE = 1000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_client")
     @SequenceGenerator(name = "sequence_client",sequenceName = "sequence_client",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 1)
     private BigInteger id;
 
@@ -53,12 +58,20 @@ public class Client implements Serializable {
     @Size(min = 3, message = "Senha muito curta.")
     private String password;
 
+    @JsonIgnore
+    @Version
+    private Long version;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    private Instant lastModified;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Client)) return false;
         Client client = (Client) o;
-        return cpf.equals(client.cpf);
+        return Objects.equals(cpf, client.getCpf());
     }
 
     @Override
@@ -0,0 +1,24 @@
+package com.netbull.apiclient.domain.client;
+
+import com.netbull.apiclient.domain.BulkResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ClientImportReport {
+
+    private final int received;
+
+    private final int created;
+
+    private final int rejected;
+
+    private final long elapsedMillis;
+
+    private final double clientsPerSecond;
+
+    private final List<BulkResult> results;
+}
@@ -1,12 +1,17 @@
 package com.netbull.apiclient.domain.client;
 
+import com.netbull.apiclient.domain.EntityVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigInteger;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ClientRepository extends PagingAndSortingRepository<Client, BigInteger> {
@@ -14,4 +19,11 @@ public interface ClientRepository extends PagingAndSortingRepository<Client, Big
     public Optional<Client> findByEmail(String email);
     public Optional<Client> findByCpf(String cpf);
     public Page<Client> findAll(Pageable pageable);
+    public Optional<EntityVersion> findVersionById(BigInteger id);
+
+    @Query("select c.email from Client c where c.email in :emails")
+    public Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select c.cpf from Client c where c.cpf in :cpfs")
+    public Set<String> findExistingCpfs(@Param("cpfs") Collection<String> cpfs);
 }
@@ -0,0 +1,23 @@
+package com.netbull.apiclient.domain.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Mensagem da fila order-client-accepted: o pedido como foi recebido, o dono e a referência do
+ * {@link OrderRequest} que acompanha o processamento.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AcceptedOrder {
+
+    private String reference;
+
+    private String email;
+
+    private Order order;
+}
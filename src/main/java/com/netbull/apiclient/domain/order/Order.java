@@ -1,5 +1,6 @@
 package com.netbull.apiclient.domain.order;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -12,6 +13,7 @@ import com.netbull.apiclient.utility.JsonLocalDateSerializer;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import javax.validation.constraints.Min;
@@ -28,12 +30,35 @@ import java.util.Objects;
 @Setter
 @Entity
 @Table(name = "order_client")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Order.GRAPH_PAGE,
+                attributeNodes = {
+                        @NamedAttributeNode("client"),
+                        @NamedAttributeNode(value = "address", subgraph = "address.type"),
+                        @NamedAttributeNode("store")
+                },
+                subgraphs = @NamedSubgraph(name = "address.type", attributeNodes = @NamedAttributeNode("type"))),
+        @NamedEntityGraph(name = Order.GRAPH_DETAIL,
+                attributeNodes = {
+                        @NamedAttributeNode("client"),
+                        @NamedAttributeNode(value = "address", subgraph = "address.type"),
+                        @NamedAttributeNode("store"),
+                        @NamedAttributeNode("products")
+                },
+                subgraphs = @NamedSubgraph(name = "address.type", attributeNodes = @NamedAttributeNode("type")))
+})
 public class Order implements Serializable {
 
+    public static final String GRAPH_PAGE = "Order.page";
+    public static final String GRAPH_DETAIL = "Order.detail";
+    public static final int EXPORT_FETCH_SIZE = 200;
+    public static final int BULK_MAX_SIZE = 500;
+    public static final int STATE_UPDATE_ATTEMPTS = 3;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_order")
     @SequenceGenerator(name = "sequence_order",sequenceName = "sequence_order",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 1)
     private BigInteger id;
 
@@ -63,31 +88,36 @@ public class Order implements Serializable {
 
     @JsonIgnoreProperties({"client"})
     @NotNull(message = "O endereço do cliente não pode ser nulo.")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private Address address;
 
     @JsonIgnoreProperties({"password"})
     @NotNull(message = "O cliente não pode ser nulo.")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id")
     private Client client;
 
     @NotNull(message = "A loja não pode ser nula.")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "store_id")
     private Store store;
 
     @NotNull(message = "Os produtos não podem ser nulos.")
-    @OneToMany(mappedBy = "order", fetch = FetchType.EAGER)
+    @BatchSize(size = 20)
+    @OneToMany(mappedBy = "order")
     private List<ProductOrder> products;
 
+    @JsonIgnore
+    @Version
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Order)) return false;
         Order order = (Order) o;
-        return id.equals(order.id);
+        return Objects.equals(id, order.getId());
     }
 
     @Override
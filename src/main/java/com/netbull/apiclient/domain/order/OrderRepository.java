@@ -2,25 +2,60 @@ package com.netbull.apiclient.domain.order;
 
 import com.netbull.apiclient.domain.client.Client;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.math.BigInteger;
-import java.util.HashSet;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends PagingAndSortingRepository<Order, BigInteger> {
 
     public Optional<Set<Order>> findOrdersByClient(Client client);
 
-    public default Page<Order> findOrdersPageByClient(Pageable pageable, Client client) {
-        List<Order> products = this.findOrdersByClient(client).orElse(new HashSet<Order>())
-                .stream()
-                .collect(Collectors.toList());
-        return new PageImpl<Order>(products, pageable, products.size());
-    }
+    @EntityGraph(Order.GRAPH_PAGE)
+    public Page<Order> findOrdersPageByClient(Pageable pageable, Client client);
+
+    @Override
+    @EntityGraph(Order.GRAPH_DETAIL)
+    public Optional<Order> findById(BigInteger id);
+
+    @Modifying
+    @Query("update versioned Order o set o.state = :state, o.orderDispatched = :dispatched " +
+            "where o.id = :id and o.state in :previous")
+    public int updateDispatched(@Param("id") BigInteger id, @Param("state") OrderState state,
+                                @Param("dispatched") LocalDate dispatched,
+                                @Param("previous") Set<OrderState> previous);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update versioned Order o set o.state = :state, o.orderDelivered = :delivered " +
+            "where o.id = :id and o.state = :expected and o.version = :version")
+    public int updateDelivered(@Param("id") BigInteger id, @Param("state") OrderState state,
+                               @Param("delivered") LocalDate delivered, @Param("expected") OrderState expected,
+                               @Param("version") Long version);
+
+    @EntityGraph(Order.GRAPH_PAGE)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "" + Order.EXPORT_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select o from Order o where o.client = :client order by o.id")
+    public Stream<Order> streamOrdersByClient(@Param("client") Client client);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "hibernate.query.passDistinctThrough", value = "false")
+    })
+    @Query("select distinct o from Order o left join fetch o.products where o.id in :ids")
+    public List<Order> fetchProductsByIds(@Param("ids") Collection<BigInteger> ids);
 }
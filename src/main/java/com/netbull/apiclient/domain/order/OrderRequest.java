@@ -0,0 +1,69 @@
+package com.netbull.apiclient.domain.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Pedido aceito pela rota assíncrona e ainda em processamento, ou já processado. O cliente consulta o
+ * andamento pela referência devolvida no aceite.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "order_request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderRequest implements Serializable {
+
+    @Id
+    private String reference;
+
+    @JsonIgnore
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    private OrderRequestState state;
+
+    private BigInteger orderId;
+
+    private String message;
+
+    @CreationTimestamp
+    private Instant created;
+
+    @UpdateTimestamp
+    private Instant lastModified;
+
+    public static OrderRequest pending(String email) {
+        OrderRequest request = new OrderRequest();
+        request.setReference(UUID.randomUUID().toString());
+        request.setEmail(email);
+        request.setState(OrderRequestState.PENDENTE);
+        return request;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OrderRequest)) return false;
+        OrderRequest that = (OrderRequest) o;
+        return Objects.equals(reference, that.getReference());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(reference);
+    }
+}
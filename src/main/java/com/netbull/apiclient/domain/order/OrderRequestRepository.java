@@ -0,0 +1,25 @@
+package com.netbull.apiclient.domain.order;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface OrderRequestRepository extends CrudRepository<OrderRequest, String> {
+
+    @Modifying(clearAutomatically = true)
+    @Query("update OrderRequest r set r.state = :state, r.lastModified = :now " +
+            "where r.reference = :reference and r.state = :expected")
+    public int updateState(@Param("reference") String reference, @Param("expected") OrderRequestState expected,
+                           @Param("state") OrderRequestState state, @Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update OrderRequest r set r.state = :state, r.message = :message, r.lastModified = :now " +
+            "where r.state in :expected and r.lastModified < :before")
+    public int updateStale(@Param("expected") Collection<OrderRequestState> expected,
+                           @Param("before") Instant before, @Param("state") OrderRequestState state,
+                           @Param("message") String message, @Param("now") Instant now);
+}
@@ -0,0 +1,9 @@
+package com.netbull.apiclient.domain.order;
+
+public enum OrderRequestState {
+
+    PENDENTE,
+    PROCESSANDO,
+    CRIADO,
+    REJEITADO
+}
@@ -1,8 +1,21 @@
 package com.netbull.apiclient.domain.order;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderState {
 
     CRIADO,
     ENVIADO,
-    ENTREGUE
+    ENTREGUE;
+
+    /**
+     * Estados anteriores a este. Uma alteração só é aplicada a pedidos que ainda estão num deles, para
+     * que o estado nunca volte atrás.
+     */
+    public Set<OrderState> predecessors() {
+        EnumSet<OrderState> predecessors = EnumSet.range(CRIADO, this);
+        predecessors.remove(this);
+        return predecessors;
+    }
 }
@@ -22,7 +22,7 @@ public class ProductOrder implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_productOrder")
     @SequenceGenerator(name = "sequence_productOrder",sequenceName = "sequence_productOrder",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 1)
     private BigInteger id;
 
@@ -37,7 +37,7 @@ public class ProductOrder implements Serializable {
 
     @JsonIgnoreProperties({"state", "orderCreated", "orderDispatched", "orderDelivered",
     "totalValue", "address", "client", "store", "products"})
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
 
@@ -0,0 +1,45 @@
+package com.netbull.apiclient.domain.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+
+@Getter
+@AllArgsConstructor
+public final class CatalogItem {
+
+    private final BigInteger id;
+
+    private final BigInteger storeId;
+
+    private final String code;
+
+    private final BigDecimal price;
+
+    private final BigInteger quantity;
+
+    public static CatalogItem of(Product product) {
+        BigInteger storeId = product.getStore() == null ? null : product.getStore().getId();
+        return new CatalogItem(product.getId(), storeId, product.getCode(), product.getPrice(), product.getQuantity());
+    }
+
+    public CatalogItem withQuantity(BigInteger quantity) {
+        return new CatalogItem(id, storeId, code, price, quantity);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CatalogItem that = (CatalogItem) o;
+        return Objects.equals(storeId, that.storeId) && Objects.equals(code, that.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(storeId, code);
+    }
+}
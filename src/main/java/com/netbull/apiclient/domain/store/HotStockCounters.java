@@ -0,0 +1,291 @@
+package com.netbull.apiclient.domain.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estoque em memória dos produtos de alta procura (stock.hot.products). A quantidade de cada produto
+ * é dividida em faixas e os pedidos baixam por compare-and-set na faixa da própria thread, sem travar
+ * a linha de product_store. A diferença acumulada é gravada no banco a cada stock.hot.flush-interval
+ * ms; vendas ainda não gravadas se perdem se o processo cair.
+ */
+@Component
+@Slf4j
+public class HotStockCounters {
+
+    private static final int PADDING = 8;
+
+    private final Map<BigInteger, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ProductRepository productRepository;
+
+    private final ProductCatalog productCatalog;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<BigInteger> hotProducts;
+
+    private final int stripes;
+
+    public HotStockCounters(ProductRepository productRepository, ProductCatalog productCatalog,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${stock.hot.products:}") Set<BigInteger> hotProducts,
+                            @Value("${stock.hot.stripes:0}") int stripes) {
+        this.productRepository = productRepository;
+        this.productCatalog = productCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotProducts = hotProducts;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        hotProducts.forEach(id -> productRepository.findById(id).ifPresent(this::register));
+        if (!counters.isEmpty()) {
+            log.info("Estoque em memória: {} produtos, {} faixas", counters.size(), stripes);
+        }
+    }
+
+    public void register(Product product) {
+        counters.put(product.getId(), new Counter(product.getQuantity().longValue(), stripes));
+    }
+
+    /**
+     * Recarrega o estoque em memória depois de uma alteração do produto pela loja. O contador atual é
+     * fechado (esperando as baixas em andamento), as vendas ainda não gravadas são gravadas sobre a nova
+     * quantidade e o contador novo parte do que ficou no banco. Tudo acontece com a trava de
+     * {@link #flush()}; quem tenta baixar no contador fechado espera a troca e tenta no novo.
+     */
+    public void reset(BigInteger productId) {
+        for (Counter counter = counters.get(productId); counter != null; counter = counters.get(productId)) {
+            synchronized (counter) {
+                if (counter.isClosed()) {
+                    continue;
+                }
+                counter.close();
+                flush(productId, counter);
+                BigInteger quantity = productRepository.findQuantityById(productId);
+                if (quantity == null) {
+                    counters.remove(productId, counter);
+                    return;
+                }
+                Counter fresh = new Counter(quantity.longValue(), stripes);
+                // vendas que não puderam ser gravadas passam para o contador novo e vão na próxima gravação
+                fresh.give(-counter.drain());
+                counters.replace(productId, counter, fresh);
+                return;
+            }
+        }
+    }
+
+    public void unregister(BigInteger productId) {
+        Counter counter = counters.remove(productId);
+        if (counter != null) {
+            synchronized (counter) {
+                counter.close();
+                flush(productId, counter);
+            }
+        }
+    }
+
+    public boolean isHot(BigInteger productId) {
+        return productId != null && counters.containsKey(productId);
+    }
+
+    public boolean tryTake(BigInteger productId, BigInteger quantity) {
+        for (Counter counter = counters.get(productId); counter != null; counter = counters.get(productId)) {
+            if (counter.tryTake(quantity.longValue())) {
+                return true;
+            }
+            if (!counter.isClosed()) {
+                return false;
+            }
+            awaitReplacement(counter);
+        }
+        return false;
+    }
+
+    public void giveBack(BigInteger productId, BigInteger quantity) {
+        for (Counter counter = counters.get(productId); counter != null; counter = counters.get(productId)) {
+            if (counter.give(quantity.longValue())) {
+                return;
+            }
+            awaitReplacement(counter);
+        }
+    }
+
+    public BigInteger available(BigInteger productId) {
+        Counter counter = counters.get(productId);
+        return counter == null ? productRepository.findQuantityById(productId) : BigInteger.valueOf(counter.available());
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${stock.hot.flush-interval:500}")
+    public void flush() {
+        counters.forEach((productId, counter) -> {
+            synchronized (counter) {
+                flush(productId, counter);
+            }
+        });
+    }
+
+    private static void awaitReplacement(Counter counter) {
+        // reset e unregister seguram o monitor do contador fechado até tirá-lo do mapa
+        synchronized (counter) {
+        }
+    }
+
+    private void flush(BigInteger productId, Counter counter) {
+        long sold = counter.drain();
+        if (sold == 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                productRepository.decrementQuantity(productId, BigInteger.valueOf(sold));
+                productCatalog.updateQuantityAfterCommit(productId, productRepository.findQuantityById(productId));
+            });
+        } catch (RuntimeException e) {
+            counter.undrain(sold);
+            log.warn("Falha ao gravar o estoque em memória do produto {}: {}", productId, e.getMessage());
+        }
+    }
+
+    static final class Counter {
+
+        private final AtomicLongArray cells;
+
+        private final int stripes;
+
+        private long flushed;
+
+        private volatile boolean closed;
+
+        Counter(long quantity, int stripes) {
+            this.cells = new AtomicLongArray(stripes * PADDING);
+            this.stripes = stripes;
+            this.flushed = quantity;
+            for (int x = 0; x < stripes; x++) {
+                cells.set(x * PADDING, quantity / stripes + (x < quantity % stripes ? 1 : 0));
+            }
+        }
+
+        /**
+         * Baixa a quantidade, ou devolve false se não houver o suficiente ou se o contador estiver
+         * fechado. A posição seguinte à faixa conta as baixas em andamento, que {@link #close()} espera.
+         */
+        boolean tryTake(long quantity) {
+            int home = home();
+            int inFlight = home * PADDING + 1;
+            cells.getAndIncrement(inFlight);
+            try {
+                if (closed) {
+                    return false;
+                }
+                for (int x = 0; x < stripes; x++) {
+                    int cell = ((home + x) % stripes) * PADDING;
+                    for (long value = cells.get(cell); value >= quantity; value = cells.get(cell)) {
+                        if (cells.compareAndSet(cell, value, value - quantity)) {
+                            return true;
+                        }
+                    }
+                }
+                return tryTakeAcross(quantity);
+            } finally {
+                cells.getAndDecrement(inFlight);
+            }
+        }
+
+        boolean give(long quantity) {
+            int home = home();
+            int inFlight = home * PADDING + 1;
+            cells.getAndIncrement(inFlight);
+            try {
+                if (closed) {
+                    return false;
+                }
+                cells.getAndAdd(home * PADDING, quantity);
+                return true;
+            } finally {
+                cells.getAndDecrement(inFlight);
+            }
+        }
+
+        void close() {
+            closed = true;
+            for (int x = 0; x < stripes; x++) {
+                while (cells.get(x * PADDING + 1) > 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        long available() {
+            long available = 0;
+            for (int x = 0; x < stripes; x++) {
+                available += cells.get(x * PADDING);
+            }
+            return available;
+        }
+
+        synchronized long drain() {
+            long current = available();
+            long sold = flushed - current;
+            flushed = current;
+            return sold;
+        }
+
+        synchronized void undrain(long sold) {
+            flushed += sold;
+        }
+
+        private boolean tryTakeAcross(long quantity) {
+            long[] taken = new long[stripes];
+            long remaining = quantity;
+
+            for (int x = 0; x < stripes && remaining > 0; x++) {
+                int cell = x * PADDING;
+                for (long value = cells.get(cell); value > 0; value = cells.get(cell)) {
+                    long take = Math.min(value, remaining);
+                    if (cells.compareAndSet(cell, value, value - take)) {
+                        taken[x] = take;
+                        remaining -= take;
+                        break;
+                    }
+                }
+            }
+
+            if (remaining == 0) {
+                return true;
+            }
+
+            for (int x = 0; x < stripes; x++) {
+                if (taken[x] > 0) {
+                    cells.getAndAdd(x * PADDING, taken[x]);
+                }
+            }
+            return false;
+        }
+
+        private int home() {
+            return Math.floorMod(Long.hashCode(Thread.currentThread().getId() * 0x9E3779B97F4A7C15L), stripes);
+        }
+    }
+}
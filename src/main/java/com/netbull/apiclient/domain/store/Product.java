@@ -3,6 +3,8 @@ package com.netbull.apiclient.domain.store;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -14,6 +16,7 @@ import java.util.Objects;
 @Setter
 @Entity
 @Table(name = "product_store")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Product implements Serializable {
 
@@ -26,16 +29,16 @@ public class Product implements Serializable {
 
     private String code;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "store_id")
     private Store store;
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Product)) return false;
         Product product = (Product) o;
-        return code.equals(product.code) && store.equals(product.store);
+        return Objects.equals(code, product.getCode()) && Objects.equals(store, product.getStore());
     }
 
     @Override
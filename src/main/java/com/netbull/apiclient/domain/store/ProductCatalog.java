@@ -0,0 +1,151 @@
+package com.netbull.apiclient.domain.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Índice em memória dos produtos, por id da loja e código do produto, usado para
+ * validar preço e disponibilidade dos pedidos sem ir ao banco. O banco continua
+ * sendo a referência para a baixa do estoque. Um segundo índice, por id do produto,
+ * guarda a loja e o código de cada item para as alterações que só conhecem o id.
+ */
+@Component
+@Slf4j
+public class ProductCatalog {
+
+    private final Map<BigInteger, Map<String, CatalogItem>> stores = new ConcurrentHashMap<>();
+
+    private final Map<BigInteger, CatalogItem> locations = new ConcurrentHashMap<>();
+
+    private final ProductRepository productRepository;
+
+    public ProductCatalog(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int count = 0;
+        for (Product product : productRepository.findAll()) {
+            CatalogItem item = CatalogItem.of(product);
+            if (item.getStoreId() != null && item.getCode() != null
+                    && storeOf(item.getStoreId()).putIfAbsent(item.getCode(), item) == null) {
+                index(item);
+                count++;
+            }
+        }
+        log.info("Catálogo carregado: {} produtos", count);
+    }
+
+    public Optional<CatalogItem> find(Store store, String code) {
+        if (store == null || store.getId() == null || code == null) {
+            return Optional.empty();
+        }
+        Map<String, CatalogItem> products = stores.get(store.getId());
+        return products == null ? Optional.empty() : Optional.ofNullable(products.get(code));
+    }
+
+    public CatalogItem put(Product product) {
+        CatalogItem item = CatalogItem.of(product);
+        put(item);
+        return item;
+    }
+
+    public void putAfterCommit(Product product) {
+        CatalogItem item = CatalogItem.of(product);
+        afterCommit(() -> put(item));
+    }
+
+    public void updateQuantity(BigInteger productId, BigInteger quantity) {
+        CatalogItem location = productId == null || quantity == null ? null : locations.get(productId);
+        if (location != null) {
+            replace(location, current -> current.withQuantity(quantity));
+        }
+    }
+
+    public void updateQuantityAfterCommit(BigInteger productId, BigInteger quantity) {
+        afterCommit(() -> updateQuantity(productId, quantity));
+    }
+
+    public void adjustQuantityAfterCommit(CatalogItem item, BigInteger delta) {
+        if (item.getStoreId() == null || item.getCode() == null) {
+            return;
+        }
+        afterCommit(() -> storeOf(item.getStoreId()).computeIfPresent(item.getCode(),
+                (code, current) -> current.withQuantity(current.getQuantity().add(delta))));
+    }
+
+    public void remove(BigInteger productId) {
+        CatalogItem location = productId == null ? null : locations.remove(productId);
+        if (location != null) {
+            replace(location, current -> null);
+        }
+    }
+
+    public void removeStore(BigInteger storeId) {
+        Map<String, CatalogItem> products = storeId == null ? null : stores.remove(storeId);
+        if (products != null) {
+            products.values().stream()
+                    .filter(item -> item.getId() != null)
+                    .forEach(item -> locations.computeIfPresent(item.getId(),
+                            (id, location) -> storeId.equals(location.getStoreId()) ? null : location));
+        }
+    }
+
+    private void put(CatalogItem item) {
+        if (item.getStoreId() == null || item.getCode() == null) {
+            return;
+        }
+        CatalogItem replaced = storeOf(item.getStoreId()).put(item.getCode(), item);
+        if (replaced != null && replaced.getId() != null && !replaced.getId().equals(item.getId())) {
+            locations.remove(replaced.getId(), replaced);
+        }
+        index(item);
+    }
+
+    private void index(CatalogItem item) {
+        if (item.getId() == null) {
+            return;
+        }
+        CatalogItem previous = locations.put(item.getId(), item);
+        // o produto mudou de código ou de loja: a entrada antiga sai do catálogo
+        if (previous != null && !previous.equals(item)) {
+            replace(previous, current -> null);
+        }
+    }
+
+    private void replace(CatalogItem location, UnaryOperator<CatalogItem> change) {
+        Map<String, CatalogItem> products = stores.get(location.getStoreId());
+        if (products != null) {
+            products.computeIfPresent(location.getCode(),
+                    (code, current) -> location.getId().equals(current.getId()) ? change.apply(current) : current);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Map<String, CatalogItem> storeOf(BigInteger storeId) {
+        return stores.computeIfAbsent(storeId, id -> new ConcurrentHashMap<>());
+    }
+}
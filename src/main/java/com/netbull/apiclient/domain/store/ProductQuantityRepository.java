@@ -0,0 +1,12 @@
+package com.netbull.apiclient.domain.store;
+
+import java.math.BigInteger;
+
+public interface ProductQuantityRepository {
+
+    public int reserveQuantity(BigInteger id, BigInteger quantity);
+
+    public int releaseQuantity(BigInteger id, BigInteger quantity);
+
+    public int decrementQuantity(BigInteger id, BigInteger quantity);
+}
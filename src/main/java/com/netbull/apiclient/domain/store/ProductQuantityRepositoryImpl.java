@@ -0,0 +1,73 @@
+package com.netbull.apiclient.domain.store;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import java.math.BigInteger;
+
+/**
+ * Baixa e devolução de estoque por UPDATE nativo em product_store. Um UPDATE JPQL em Product faz o
+ * Hibernate esvaziar a região product inteira e invalidar as consultas em cache de product_store
+ * (product-by-store) a cada pedido. Aqui o UPDATE é sincronizado com um espaço de consulta que
+ * nenhuma consulta em cache usa, e só o produto alterado sai da região product, depois do commit.
+ * As consultas em cache guardam só os ids e continuam válidas. O contexto de persistência não é
+ * limpo: quem chama estes métodos não carrega o Product na mesma transação e lê a quantidade por
+ * {@link ProductRepository#findQuantityById}.
+ */
+public class ProductQuantityRepositoryImpl implements ProductQuantityRepository {
+
+    private static final String QUERY_SPACE = "product_store_quantity";
+
+    private final EntityManager entityManager;
+
+    public ProductQuantityRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int reserveQuantity(BigInteger id, BigInteger quantity) {
+        return update("update product_store set quantity = quantity - :quantity " +
+                "where id = :id and quantity >= :quantity", id, quantity);
+    }
+
+    @Override
+    public int releaseQuantity(BigInteger id, BigInteger quantity) {
+        return update("update product_store set quantity = quantity + :quantity where id = :id", id, quantity);
+    }
+
+    @Override
+    public int decrementQuantity(BigInteger id, BigInteger quantity) {
+        return update("update product_store set quantity = quantity - :quantity where id = :id", id, quantity);
+    }
+
+    private int update(String sql, BigInteger id, BigInteger quantity) {
+        int updated = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE)
+                .setParameter("id", id)
+                .setParameter("quantity", quantity)
+                .executeUpdate();
+
+        if (updated > 0) {
+            evictAfterCompletion(id);
+        }
+        return updated;
+    }
+
+    private void evictAfterCompletion(BigInteger id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evict(Product.class, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.evict(Product.class, id);
+            }
+        });
+    }
+}
@@ -1,15 +1,23 @@
 package com.netbull.apiclient.domain.store;
 
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.math.BigInteger;
 import java.util.Optional;
 import java.util.Set;
 
 @Repository
-public interface ProductRepository extends CrudRepository<Product, BigInteger> {
+public interface ProductRepository extends CrudRepository<Product, BigInteger>, ProductQuantityRepository {
 
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "product-by-store")
+    })
     public Optional<Set<Product>> findProductsByStore(Store store);
     public default Optional<Product> findProductByCodeAndStore(String code, Store store) {
         Optional<Set<Product>> productsOfStore = this.findProductsByStore(store);
@@ -20,4 +28,7 @@ public interface ProductRepository extends CrudRepository<Product, BigInteger> {
         }
         return Optional.empty();
     }
+
+    @Query("select p.quantity from Product p where p.id = :id")
+    public BigInteger findQuantityById(@Param("id") BigInteger id);
 }
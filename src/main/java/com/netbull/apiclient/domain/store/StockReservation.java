@@ -0,0 +1,67 @@
+package com.netbull.apiclient.domain.store;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Quantidade de um produto já baixada do estoque e ainda não confirmada por um pedido. A reserva é
+ * apagada quando o pedido é gravado; se o pedido falhar ou a reserva passar de expires, a quantidade
+ * volta ao produto. Reservas de produtos em {@link HotStockCounters} ficam só em memória (inMemory).
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "stock_reservation", indexes = @Index(name = "idx_stock_reservation_expires", columnList = "expires"))
+public class StockReservation implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_stock_reservation")
+    @SequenceGenerator(name = "sequence_stock_reservation", sequenceName = "sequence_stock_reservation",
+            allocationSize = 50,
+            initialValue = 1)
+    private BigInteger id;
+
+    private BigInteger productId;
+
+    private BigInteger quantity;
+
+    private Instant expires;
+
+    @Transient
+    private boolean inMemory;
+
+    public static StockReservation of(BigInteger productId, BigInteger quantity, Instant expires) {
+        StockReservation reservation = new StockReservation();
+        reservation.setProductId(productId);
+        reservation.setQuantity(quantity);
+        reservation.setExpires(expires);
+        return reservation;
+    }
+
+    public static StockReservation inMemory(BigInteger productId, BigInteger quantity) {
+        StockReservation reservation = of(productId, quantity, null);
+        reservation.setInMemory(true);
+        return reservation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StockReservation)) return false;
+        StockReservation that = (StockReservation) o;
+        return Objects.equals(id, that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
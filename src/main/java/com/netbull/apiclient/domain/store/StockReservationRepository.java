@@ -0,0 +1,22 @@
+package com.netbull.apiclient.domain.store;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends CrudRepository<StockReservation, BigInteger> {
+
+    public List<StockReservation> findTop500ByExpiresBeforeOrderByExpires(Instant instant);
+
+    @Modifying
+    @Query("delete from StockReservation r where r.id in :ids")
+    public int deleteByIds(@Param("ids") Collection<BigInteger> ids);
+}
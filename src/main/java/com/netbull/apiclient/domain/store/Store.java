@@ -3,6 +3,8 @@ package com.netbull.apiclient.domain.store;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -15,6 +17,7 @@ import java.util.Objects;
 @Setter
 @Entity
 @Table(name = "store")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "store")
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Store implements Serializable {
 
@@ -26,9 +29,9 @@ public class Store implements Serializable {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Store)) return false;
         Store store = (Store) o;
-        return cnpj.equals(store.cnpj);
+        return Objects.equals(cnpj, store.getCnpj());
     }
 
     @Override
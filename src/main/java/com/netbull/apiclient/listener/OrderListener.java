@@ -1,11 +1,15 @@
 package com.netbull.apiclient.listener;
 
+import com.netbull.apiclient.domain.order.AcceptedOrder;
 import com.netbull.apiclient.domain.order.Order;
 import com.netbull.apiclient.domain.order.OrderRepository;
+import com.netbull.apiclient.service.OrderAcceptanceService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @Slf4j
@@ -14,13 +18,35 @@ public class OrderListener {
     @Autowired
     OrderRepository orderRepository;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    OrderAcceptanceService orderAcceptanceService;
+
+    @Transactional
     @RabbitListener(queues = "order-client-updated-dispatched")
     public void executeUpdate(Order order) {
-        Order otherOrder = orderRepository.findById(order.getId()).get();
-        otherOrder.setState(order.getState());
-        otherOrder.setOrderDispatched(order.getOrderDispatched());
-        if (this.orderRepository.save(otherOrder) != null) {
+        if (order.getState() == null || order.getState().predecessors().isEmpty()) {
+            log.warn("Alteração de pedido ignorada, estado inválido: {}", order.getState());
+            return;
+        }
+
+        int updated = this.orderRepository.updateDispatched(order.getId(), order.getState(),
+                order.getOrderDispatched(), order.getState().predecessors());
+
+        if (updated > 0) {
             log.info("Pedido alterado: {}", order.getState());
+        } else {
+            meterRegistry.counter("app.order.state.conflicts", "transition", order.getState().name(),
+                    "result", "skipped").increment();
+            log.warn("Alteração de pedido ignorada, pedido {} não encontrado ou já em {} ou adiante.",
+                    order.getId(), order.getState());
         }
     }
+
+    @RabbitListener(queues = "order-client-accepted", concurrency = "${order.accept.workers:4}")
+    public void executeAccepted(AcceptedOrder accepted) {
+        orderAcceptanceService.completeOrder(accepted);
+    }
 }
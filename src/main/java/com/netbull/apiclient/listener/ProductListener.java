@@ -1,6 +1,8 @@
 package com.netbull.apiclient.listener;
 
+import com.netbull.apiclient.domain.store.HotStockCounters;
 import com.netbull.apiclient.domain.store.Product;
+import com.netbull.apiclient.domain.store.ProductCatalog;
 import com.netbull.apiclient.domain.store.ProductRepository;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,9 +14,15 @@ public class ProductListener {
     @Autowired
     ProductRepository productRepository;
 
+    @Autowired
+    ProductCatalog productCatalog;
+
+    @Autowired
+    HotStockCounters hotStockCounters;
+
     @RabbitListener(queues = "product-created")
     public void executeCreate(Product product) {
-        productRepository.save(product);
+        productCatalog.put(productRepository.save(product));
     }
 
     @RabbitListener(queues = "product-updated")
@@ -23,11 +31,15 @@ public class ProductListener {
         otherProduct.setQuantity(product.getQuantity());
         otherProduct.setCode(product.getCode());
         otherProduct.setPrice(product.getPrice());
-        productRepository.save(otherProduct);
+        productCatalog.remove(otherProduct.getId());
+        productCatalog.put(productRepository.save(otherProduct));
+        hotStockCounters.reset(otherProduct.getId());
     }
 
     @RabbitListener(queues = "product-deleted")
     public void executeDelete(Product product) {
         productRepository.delete(product);
+        productCatalog.remove(product.getId());
+        hotStockCounters.unregister(product.getId());
     }
 }
@@ -1,5 +1,7 @@
 package com.netbull.apiclient.listener;
 
+import com.netbull.apiclient.domain.store.HotStockCounters;
+import com.netbull.apiclient.domain.store.ProductCatalog;
 import com.netbull.apiclient.domain.store.ProductRepository;
 import com.netbull.apiclient.domain.store.Store;
 import com.netbull.apiclient.domain.store.StoreRepository;
@@ -16,6 +18,12 @@ public class StoreListener {
     @Autowired
     ProductRepository productRepository;
 
+    @Autowired
+    ProductCatalog productCatalog;
+
+    @Autowired
+    HotStockCounters hotStockCounters;
+
     @RabbitListener(queues = "store-created")
     public void executeCreate(Store store) {
 
@@ -32,7 +40,11 @@ public class StoreListener {
     @RabbitListener(queues = "store-deleted")
     public void executeDelete(Store store) {
         productRepository.findProductsByStore(store).ifPresent(
-                setProducts -> setProducts.forEach(productRepository::delete));
+                setProducts -> setProducts.forEach(product -> {
+                    hotStockCounters.unregister(product.getId());
+                    productRepository.delete(product);
+                }));
         storeRepository.delete(store);
+        productCatalog.removeStore(store.getId());
     }
 }
@@ -1,23 +1,25 @@
 package com.netbull.apiclient.service;
 
+import com.netbull.apiclient.domain.BulkResult;
+import com.netbull.apiclient.domain.EntityVersion;
 import com.netbull.apiclient.domain.address.Address;
 import com.netbull.apiclient.domain.address.AddressRepository;
 import com.netbull.apiclient.domain.address.Type;
 import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.NotFoundException;
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @Service
 @Slf4j
@@ -63,12 +65,66 @@ public class AddressService {
         }
     }
 
+    @Transactional
+    public List<BulkResult> persistAddresses(List<Address> addresses, String useremail) {
+        if (addresses == null || addresses.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum endereço foi enviado.");
+        }
+
+        if (addresses.size() > Address.BULK_MAX_SIZE) {
+            throw new IllegalArgumentException("São permitidos no máximo " + Address.BULK_MAX_SIZE +
+                    " endereços por envio.");
+        }
+
+        Client client = clientService.getClientByEmail(useremail);
+        Set<Integer> typeIds = StreamSupport.stream(typeRepository.findAll().spliterator(), false)
+                .map(Type::getId)
+                .collect(Collectors.toSet());
+
+        Map<Integer, Address> accepted = new LinkedHashMap<>();
+        Map<Integer, BulkResult> rejected = new HashMap<>();
+
+        for (int index = 0; index < addresses.size(); index++) {
+            Address address = addresses.get(index);
+            if (address == null) {
+                rejected.put(index, BulkResult.rejected(index, 400, "O endereço não pode ser nulo."));
+                continue;
+            }
+
+            address.setClient(client);
+            Set<ConstraintViolation<Address>> validate = this.validator.validate(address);
+
+            if (!validate.isEmpty()) {
+                rejected.put(index, BulkResult.rejected(index,
+                        new ConstraintViolationException("Endereço inválido.", validate)));
+            } else if (!typeIds.contains(address.getType().getId())) {
+                rejected.put(index, BulkResult.rejected(index, 404,
+                        "Não foi possível adicionar o endereço pois o tipo de endereço não foi encontrado."));
+            } else {
+                accepted.put(index, address);
+            }
+        }
+
+        addressRepository.saveAll(new ArrayList<>(accepted.values()));
+        log.info("Endereços em lote cadastrados: {}, rejeitados: {}", accepted.size(), rejected.size());
+
+        List<BulkResult> results = new ArrayList<>(addresses.size());
+        for (int index = 0; index < addresses.size(); index++) {
+            results.add(accepted.containsKey(index)
+                    ? BulkResult.created(index, accepted.get(index).getId(), "Endereço criado.")
+                    : rejected.get(index));
+        }
+        return results;
+    }
+
+    @Transactional(readOnly = true)
     public List<Type> getTypeAddresses() {
         ArrayList<Type> typeList = new ArrayList<>();
         this.typeRepository.findAll().forEach(type -> typeList.add(type));
         return typeList;
     }
 
+    @Transactional(readOnly = true)
     public Set<Address> getAddressByClientEmail(String email) {
         Set<Address> addresses = this.addressRepository.findByClient(clientService.getClientByEmail(email))
                 .orElseThrow(() -> new NotFoundException("Endereço não encontrado."));
@@ -80,6 +136,12 @@ public class AddressService {
         return addresses;
     }
 
+    @Transactional(readOnly = true)
+    public List<EntityVersion> getAddressVersionsByClientEmail(String email) {
+        return this.addressRepository.findVersionsByClientEmailOrderById(email);
+    }
+
+    @Transactional(readOnly = true)
     public Address getAddressById(BigInteger id) {
         return this.addressRepository.findById(id).orElseThrow(
                 () -> new NotFoundException("Endereço não encontrado."));
@@ -0,0 +1,192 @@
+package com.netbull.apiclient.service;
+
+import com.netbull.apiclient.domain.BulkResult;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientImportReport;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.utility.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de clientes em lote: valida os registros em paralelo, confere email e CPF com uma
+ * consulta por conjunto, gera os hashes das senhas no pool limitado por CPU e insere tudo com um
+ * único saveAll, agrupado em lotes JDBC pelo Hibernate. Só os usuários de client.import.allowed-users
+ * podem importar, ver {@link #isAllowed(String)}.
+ */
+@Service
+@Slf4j
+public class ClientImportService {
+
+    private ClientRepository clientRepository;
+
+    private Validator validator;
+
+    private StringUtils stringUtils;
+
+    private ExecutorService executor;
+
+    private Set<String> allowedUsers;
+
+    public ClientImportService(Validator validator, ClientRepository clientRepository, StringUtils stringUtils,
+                               @Qualifier("clientImportExecutor") ExecutorService executor,
+                               @Value("${client.import.allowed-users:}") Set<String> allowedUsers) {
+        this.clientRepository = clientRepository;
+        this.validator = validator;
+        this.stringUtils = stringUtils;
+        this.executor = executor;
+        this.allowedUsers = allowedUsers;
+    }
+
+    public boolean isAllowed(String useremail) {
+        return useremail != null && allowedUsers.contains(useremail);
+    }
+
+    public ClientImportReport importClients(List<Client> clients) {
+        if (clients == null || clients.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum cliente foi enviado.");
+        }
+
+        if (clients.size() > Client.BULK_MAX_SIZE) {
+            throw new IllegalArgumentException("São permitidos no máximo " + Client.BULK_MAX_SIZE +
+                    " clientes por envio.");
+        }
+
+        long start = System.nanoTime();
+        Map<Integer, BulkResult> rejected = new HashMap<>();
+
+        List<BulkResult> validation = runAll(clients.size(), index -> validate(index, clients.get(index)));
+        validation.stream().filter(Objects::nonNull).forEach(result -> rejected.put(result.getIndex(), result));
+
+        Map<Integer, Client> accepted = new LinkedHashMap<>();
+        for (int index = 0; index < clients.size(); index++) {
+            if (!rejected.containsKey(index)) {
+                accepted.put(index, clients.get(index));
+            }
+        }
+
+        rejectDuplicates(accepted, rejected);
+
+        List<Integer> indexes = new ArrayList<>(accepted.keySet());
+        runAll(indexes.size(), position -> {
+            Client client = accepted.get(indexes.get(position));
+            client.setPassword(stringUtils.encryptPassword(client.getPassword()));
+            return null;
+        });
+
+        try {
+            clientRepository.saveAll(new ArrayList<>(accepted.values()));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Importação de clientes: email ou CPF cadastrado durante a importação, gravando um a um.");
+            saveEach(accepted, rejected);
+        }
+
+        List<BulkResult> results = new ArrayList<>(clients.size());
+        for (int index = 0; index < clients.size(); index++) {
+            results.add(accepted.containsKey(index)
+                    ? BulkResult.created(index, accepted.get(index).getId(), "Cliente salvo.")
+                    : rejected.get(index));
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        double perSecond = clients.size() * 1000.0 / Math.max(1, elapsedMillis);
+        log.info("Importação de clientes: recebidos {}, cadastrados {}, rejeitados {}, {}ms ({} clientes/s)",
+                clients.size(), accepted.size(), rejected.size(), elapsedMillis, Math.round(perSecond));
+
+        return new ClientImportReport(clients.size(), accepted.size(), rejected.size(),
+                elapsedMillis, perSecond, results);
+    }
+
+    private BulkResult validate(int index, Client client) {
+        if (client == null) {
+            return BulkResult.rejected(index, 400, "O cliente não pode ser nulo.");
+        }
+
+        Set<ConstraintViolation<Client>> validate = this.validator.validate(client);
+
+        if (!validate.isEmpty()) {
+            return BulkResult.rejected(index, new ConstraintViolationException("Cliente inválido.", validate));
+        }
+        return null;
+    }
+
+    private void rejectDuplicates(Map<Integer, Client> accepted, Map<Integer, BulkResult> rejected) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Set<String> emails = clientRepository.findExistingEmails(accepted.values().stream()
+                .map(Client::getEmail)
+                .collect(Collectors.toSet()));
+        Set<String> cpfs = clientRepository.findExistingCpfs(accepted.values().stream()
+                .map(Client::getCpf)
+                .collect(Collectors.toSet()));
+
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchCpfs = new HashSet<>();
+
+        Iterator<Map.Entry<Integer, Client>> iterator = accepted.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Client> entry = iterator.next();
+            Client client = entry.getValue();
+            String message = null;
+
+            if (emails.contains(client.getEmail()) || batchEmails.contains(client.getEmail())) {
+                message = "Email já utilizado.";
+            } else if (cpfs.contains(client.getCpf()) || batchCpfs.contains(client.getCpf())) {
+                message = "CPF já cadastrado.";
+            } else {
+                batchEmails.add(client.getEmail());
+                batchCpfs.add(client.getCpf());
+            }
+
+            if (message != null) {
+                rejected.put(entry.getKey(), BulkResult.rejected(entry.getKey(), 400, message));
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Caminho de recuperação quando um cadastro entra entre a conferência de email e CPF e o saveAll:
+     * grava cada cliente na própria transação e rejeita só os que violarem a unicidade.
+     */
+    private void saveEach(Map<Integer, Client> accepted, Map<Integer, BulkResult> rejected) {
+        Iterator<Map.Entry<Integer, Client>> iterator = accepted.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Client> entry = iterator.next();
+            Client client = entry.getValue();
+            client.setId(null);
+            client.setVersion(null);
+
+            try {
+                clientRepository.save(client);
+            } catch (DataIntegrityViolationException e) {
+                rejected.put(entry.getKey(), BulkResult.rejected(entry.getKey(), 400, "Email ou CPF já cadastrado."));
+                iterator.remove();
+            }
+        }
+    }
+
+    private <T> List<T> runAll(int size, IntFunction<T> task) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            int current = index;
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(current), executor));
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+}
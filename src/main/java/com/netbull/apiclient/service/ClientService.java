@@ -1,5 +1,6 @@
 package com.netbull.apiclient.service;
 
+import com.netbull.apiclient.domain.EntityVersion;
 import com.netbull.apiclient.domain.address.AddressRepository;
 import com.netbull.apiclient.domain.client.Client;
 import com.netbull.apiclient.domain.client.ClientRepository;
@@ -66,6 +67,7 @@ public class ClientService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Page<Client> getAllClients(Pageable pageable) {
         Page<Client> clients = clientRepository.findAll(pageable);
 
@@ -79,14 +81,22 @@ public class ClientService {
                 .collect(Collectors.toList()), clients.getPageable(), clients.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
     public Client getClientById(BigInteger id) {
         return clientRepository.findById(id).orElseThrow(() -> new NotFoundException("Cliente não encontrado."));
     }
 
+    @Transactional(readOnly = true)
+    public EntityVersion getClientVersionById(BigInteger id) {
+        return clientRepository.findVersionById(id).orElseThrow(() -> new NotFoundException("Cliente não encontrado."));
+    }
+
+    @Transactional(readOnly = true)
     public Client getClientByEmail(String email) {
         return clientRepository.findByEmail(email).orElseThrow(() -> new NotFoundException("Cliente não encontrado."));
     }
 
+    @Transactional(readOnly = true)
     public Client getClientByCpf(String cpf) {
         return clientRepository.findByCpf(cpf).orElseThrow(() -> new NotFoundException("Cliente não encontrado."));
     }
@@ -0,0 +1,151 @@
+package com.netbull.apiclient.service;
+
+import com.netbull.apiclient.domain.order.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolationException;
+import javax.ws.rs.NotFoundException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Aceite rápido de pedidos: faz só as validações que não consultam o banco, grava um
+ * {@link OrderRequest} pendente e enfileira o pedido em order-client-accepted. Os consumidores dessa
+ * fila ({@link com.netbull.apiclient.listener.OrderListener#executeAccepted}) concluem a criação com
+ * {@link OrderService#persistOrder} e atualizam o andamento. Pedidos que ficam pendentes ou em
+ * processamento por mais de order.accept.timeout (mensagem esgotou as tentativas e foi para a fila de
+ * mensagens mortas, ou o processo caiu no meio) são rejeitados por {@link #rejectStale()}.
+ */
+@Service
+@Slf4j
+public class OrderAcceptanceService {
+
+    private OrderService orderService;
+
+    private OrderRequestRepository orderRequestRepository;
+
+    private RabbitTemplate rabbitTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Duration timeout;
+
+    public OrderAcceptanceService(OrderService orderService, OrderRequestRepository orderRequestRepository,
+                                  RabbitTemplate rabbitTemplate, TransactionTemplate transactionTemplate,
+                                  @Value("${order.accept.timeout:10m}") Duration timeout) {
+        this.orderService = orderService;
+        this.orderRequestRepository = orderRequestRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.timeout = timeout;
+    }
+
+    public OrderRequest acceptOrder(Order order, String userEmail) {
+        if (order == null) {
+            throw new IllegalArgumentException("O pedido não pode ser nulo.");
+        }
+
+        if (order.getProducts() == null || order.getProducts().isEmpty()) {
+            throw new IllegalArgumentException("Os produtos não podem ser nulos.");
+        }
+
+        if (order.getStore() == null || order.getStore().getId() == null) {
+            throw new IllegalArgumentException("A loja não pode ser nula.");
+        }
+
+        orderService.normalizeProducts(order.getProducts());
+
+        OrderRequest request = orderRequestRepository.save(OrderRequest.pending(userEmail));
+        try {
+            rabbitTemplate.convertAndSend("order-client", "order.client.accepted",
+                    new AcceptedOrder(request.getReference(), userEmail, order));
+        } catch (AmqpException e) {
+            reject(request.getReference(), "Não foi possível enfileirar o pedido, tente novamente.");
+            throw e;
+        }
+
+        log.info("Pedido aceito: {}", request.getReference());
+        return request;
+    }
+
+    /**
+     * Conclui um pedido aceito sem manter transação aberta durante a criação: o andamento passa de
+     * PENDENTE para PROCESSANDO numa transação curta (o que também descarta reentregas), o pedido é
+     * criado por {@link OrderService#persistOrder}, que usa as próprias transações, e o resultado é
+     * gravado em outra transação curta. Falhas que não são de validação devolvem o andamento para
+     * PENDENTE e sobem, para a mensagem ser reentregue.
+     */
+    public void completeOrder(AcceptedOrder accepted) {
+        String reference = accepted.getReference();
+
+        if (!changeState(reference, OrderRequestState.PENDENTE, OrderRequestState.PROCESSANDO)) {
+            log.warn("Pedido aceito ignorado, referência {} inexistente ou já processada.", reference);
+            return;
+        }
+
+        try {
+            orderService.persistOrder(accepted.getOrder(), accepted.getEmail());
+        } catch (NotFoundException | IllegalArgumentException | ConstraintViolationException e) {
+            reject(reference, e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            changeState(reference, OrderRequestState.PROCESSANDO, OrderRequestState.PENDENTE);
+            throw e;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderRequestRepository.findById(reference)
+                    .ifPresent(request -> {
+                        request.setState(OrderRequestState.CRIADO);
+                        request.setOrderId(accepted.getOrder().getId());
+                        orderRequestRepository.save(request);
+                    }));
+        } catch (RuntimeException e) {
+            log.error("Pedido {} criado, mas o andamento {} não foi atualizado.", accepted.getOrder().getId(),
+                    reference, e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.accept.sweep-interval:60000}")
+    public void rejectStale() {
+        Instant now = Instant.now();
+        Integer rejected = transactionTemplate.execute(status -> orderRequestRepository.updateStale(
+                List.of(OrderRequestState.PENDENTE, OrderRequestState.PROCESSANDO), now.minus(timeout),
+                OrderRequestState.REJEITADO, "O pedido não pôde ser concluído, tente novamente.", now));
+
+        if (rejected != null && rejected > 0) {
+            log.warn("Pedidos aceitos sem conclusão rejeitados: {}", rejected);
+        }
+    }
+
+    public OrderRequest getOrderRequest(String reference, String userEmail) {
+        return orderRequestRepository.findById(reference)
+                .filter(request -> request.getEmail().equals(userEmail))
+                .orElseThrow(() -> new NotFoundException("Nenhum pedido foi encontrado com a referência: " +
+                        reference + "."));
+    }
+
+    private boolean changeState(String reference, OrderRequestState expected, OrderRequestState state) {
+        Integer updated = transactionTemplate.execute(status ->
+                orderRequestRepository.updateState(reference, expected, state, Instant.now()));
+        return updated != null && updated > 0;
+    }
+
+    private void reject(String reference, String message) {
+        transactionTemplate.executeWithoutResult(status -> orderRequestRepository.findById(reference)
+                .ifPresent(request -> {
+                    request.setState(OrderRequestState.REJEITADO);
+                    request.setMessage(message);
+                    orderRequestRepository.save(request);
+                    log.info("Pedido aceito rejeitado: {}, {}", reference, message);
+                }));
+    }
+}
@@ -0,0 +1,95 @@
+package com.netbull.apiclient.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.domain.order.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class OrderExportService {
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private OrderRepository orderRepository;
+
+    private ClientService clientService;
+
+    private EntityManager entityManager;
+
+    private ObjectWriter writer;
+
+    private TransactionTemplate transactionTemplate;
+
+    public OrderExportService(OrderRepository orderRepository, ClientService clientService,
+                              EntityManager entityManager, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.clientService = clientService;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerFor(Order.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportOrdersByClient(String userEmail) {
+        Client client = clientService.getClientByEmail(userEmail);
+
+        return outputStream -> transactionTemplate.executeWithoutResult(
+                status -> writeOrders(client, outputStream));
+    }
+
+    private void writeOrders(Client client, OutputStream outputStream) {
+        long count = 0;
+        List<Order> chunk = new ArrayList<>(Order.EXPORT_FETCH_SIZE);
+
+        try (Stream<Order> orders = orderRepository.streamOrdersByClient(client)) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == Order.EXPORT_FETCH_SIZE) {
+                    count += writeChunk(chunk, outputStream);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                count += writeChunk(chunk, outputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Pedidos exportados: {}", count);
+    }
+
+    private int writeChunk(List<Order> chunk, OutputStream outputStream) throws IOException {
+        // Um join fetch pelos ids do bloco inicializa os produtos de todos os pedidos numa consulta.
+        orderRepository.fetchProductsByIds(chunk.stream().map(Order::getId).collect(Collectors.toList()));
+
+        for (Order order : chunk) {
+            outputStream.write(writer.writeValueAsBytes(order));
+            outputStream.write(NEW_LINE);
+        }
+        outputStream.flush();
+
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+}
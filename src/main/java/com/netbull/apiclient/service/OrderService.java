@@ -1,16 +1,25 @@
 package com.netbull.apiclient.service;
 
+import com.netbull.apiclient.domain.BulkResult;
 import com.netbull.apiclient.domain.address.Address;
 import com.netbull.apiclient.domain.client.Client;
 import com.netbull.apiclient.domain.order.*;
-import com.netbull.apiclient.domain.store.Product;
+import com.netbull.apiclient.domain.store.CatalogItem;
+import com.netbull.apiclient.domain.store.ProductCatalog;
 import com.netbull.apiclient.domain.store.ProductRepository;
+import com.netbull.apiclient.domain.store.StockReservation;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
@@ -21,10 +30,9 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -38,33 +46,47 @@ public class OrderService {
 
     ProductRepository productRepository;
 
+    ProductCatalog productCatalog;
+
     AddressService addressService;
 
     Validator validator;
 
     private RabbitTemplate rabbitTemplate;
 
+    private MeterRegistry meterRegistry;
+
+    private StockReservationService stockReservationService;
+
+    private TransactionTemplate transactionTemplate;
+
     public OrderService(OrderRepository orderRepository, ClientService clientService,
                         AddressService addressService, ProductOrderRepository productOrderRepository,
-                        ProductRepository productRepository, Validator validator,
-                        RabbitTemplate rabbitTemplate) {
+                        ProductRepository productRepository, ProductCatalog productCatalog,
+                        Validator validator, RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry,
+                        StockReservationService stockReservationService,
+                        PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
         this.clientService = clientService;
         this.addressService = addressService;
         this.productOrderRepository = productOrderRepository;
         this.productRepository = productRepository;
+        this.productCatalog = productCatalog;
         this.validator = validator;
         this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.stockReservationService = stockReservationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
     public void persistOrder(@NotNull(message = "O pedido não pode ser nulo.") Order order,
                              String userEmail) {
         Optional.ofNullable(order).orElseThrow(
                 () -> new IllegalArgumentException("O pedido não pode ser nulo."));
 
+        Map<CatalogItem, BigInteger> products = Map.of();
         if (order.getProducts() != null) {
-            validateProducts(order);
+            products = validateProducts(order);
             order.setTotalValue(BigDecimal.ZERO);
 
             order.getProducts().forEach(
@@ -74,6 +96,19 @@ public class OrderService {
                                             BigDecimal.valueOf(product.getQuantity().intValue())))));
         }
 
+        List<StockReservation> reservations = products.isEmpty()
+                ? List.of()
+                : stockReservationService.reserve(products);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> createOrder(order, userEmail, reservations));
+        } catch (RuntimeException e) {
+            stockReservationService.release(reservations);
+            throw e;
+        }
+    }
+
+    private void createOrder(Order order, String userEmail, List<StockReservation> reservations) {
         if (order.getAddress() == null && addressService.getAddressByClientEmail(userEmail).size() == 1) {
             order.setAddress(addressService.getAddressByClientEmail(userEmail)
                     .stream()
@@ -101,11 +136,7 @@ public class OrderService {
             throw new ConstraintViolationException("Pedido inválido.", validateOrder);
         }
 
-        for (ProductOrder productOrder : order.getProducts()) {
-            Product product = productRepository.findProductByCodeAndStore(productOrder.getCode(), order.getStore()).get();
-            product.setQuantity(product.getQuantity().subtract(productOrder.getQuantity()));
-            productRepository.save(product);
-        }
+        stockReservationService.confirm(reservations);
 
         if (this.orderRepository.save(order) != null) {
             log.info("Pedido criado: {}", order.getId());
@@ -114,37 +145,150 @@ public class OrderService {
         this.rabbitTemplate.convertAndSend("order-store", "order.store.created", order);
     }
 
-    @Transactional
-    public void setOrderStateToDelivered(BigInteger id, String userEmail, OrderState orderState) {
-        Order order = orderRepository.findById(id).orElseThrow(
-                () -> new NotFoundException("Nenhum pedido foi encontrado com o id: " + id + "."));
+    public List<BulkResult> persistOrders(List<Order> orders, String userEmail) {
+        if (orders == null || orders.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum pedido foi enviado.");
+        }
 
-        if(order.getState().equals(OrderState.ENTREGUE)) {
-            throw new IllegalArgumentException("O pedido já foi entregue na data: " +
-                    order.getOrderDelivered().format(DateTimeFormatter.ofPattern("dd/MM/YYYY")));
+        if (orders.size() > Order.BULK_MAX_SIZE) {
+            throw new IllegalArgumentException("São permitidos no máximo " + Order.BULK_MAX_SIZE +
+                    " pedidos por envio.");
         }
 
-        if(!orderState.equals(OrderState.ENTREGUE)) {
-            throw new IllegalArgumentException("Somente é possível alterar o estado do pedido para: ENTREGUE.");
+        Client client = clientService.getClientByEmail(userEmail);
+        Map<BigInteger, Address> addresses = getAddressesById(userEmail);
+        List<StockReservation> reservations = new ArrayList<>();
+
+        Map<Integer, Order> accepted = new LinkedHashMap<>();
+        Map<Integer, BulkResult> rejected = new HashMap<>();
+
+        for (int index = 0; index < orders.size(); index++) {
+            Order order = orders.get(index);
+            try {
+                reservations.addAll(stockReservationService.reserve(
+                        prepareBulkOrder(order, client, addresses)));
+                accepted.put(index, order);
+            } catch (NotFoundException e) {
+                rejected.put(index, BulkResult.rejected(index, 404, e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                rejected.put(index, BulkResult.rejected(index, 400, e.getMessage()));
+            } catch (ConstraintViolationException e) {
+                rejected.put(index, BulkResult.rejected(index, e));
+            }
         }
 
-        if(order.getState().equals(OrderState.CRIADO)) {
-            throw new IllegalArgumentException("Não é possível alterar o estado para ENTREGUE antes do pedido ser enviado.");
+        List<Order> created = new ArrayList<>(accepted.values());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                stockReservationService.confirm(reservations);
+                orderRepository.saveAll(created);
+                productOrderRepository.saveAll(created.stream()
+                        .flatMap(order -> order.getProducts().stream())
+                        .collect(Collectors.toList()));
+                created.forEach(order -> this.rabbitTemplate.convertAndSend("order-store", "order.store.created", order));
+            });
+        } catch (RuntimeException e) {
+            stockReservationService.release(reservations);
+            throw e;
         }
 
-        if (!order.getClient().getEmail().equals(userEmail)) {
-            throw new NotFoundException("Nenhum pedido foi encontrado com o id: " + id + ".");
+        log.info("Pedidos em lote criados: {}, rejeitados: {}", accepted.size(), rejected.size());
+
+        List<BulkResult> results = new ArrayList<>(orders.size());
+        for (int index = 0; index < orders.size(); index++) {
+            results.add(accepted.containsKey(index)
+                    ? BulkResult.created(index, accepted.get(index).getId(), "Pedido criado.")
+                    : rejected.get(index));
+        }
+        return results;
+    }
+
+    private Map<BigInteger, Address> getAddressesById(String userEmail) {
+        try {
+            return addressService.getAddressByClientEmail(userEmail).stream()
+                    .collect(Collectors.toMap(Address::getId, Function.identity()));
+        } catch (NotFoundException e) {
+            return Map.of();
         }
+    }
 
-        order.setOrderDelivered(LocalDate.now());
-        order.setState(OrderState.ENTREGUE);
+    private Map<CatalogItem, BigInteger> prepareBulkOrder(Order order, Client client,
+                                                          Map<BigInteger, Address> addresses) {
+        if (order == null) {
+            throw new IllegalArgumentException("O pedido não pode ser nulo.");
+        }
 
-        if (this.orderRepository.save(order) != null) {
-            log.info("Pedido alterado: {}", order.getState());
+        if (order.getAddress() == null && addresses.size() == 1) {
+            order.setAddress(addresses.values().iterator().next());
+        } else if (order.getAddress() == null && addresses.size() > 1) {
+            throw new IllegalArgumentException("O cliente possui mais de um endereço cadastrado, por favor especifique o " +
+                    "endereço de envio no pedido.");
+        } else if (order.getAddress() != null) {
+            order.setAddress(Optional.ofNullable(addresses.get(order.getAddress().getId()))
+                    .orElseThrow(() -> new NotFoundException("Endereço não encontrado.")));
         }
-        this.rabbitTemplate.convertAndSend("order-store", "order.store.updated.delivered", order);
+
+        order.setClient(client);
+        order.setOrderCreated(LocalDate.now());
+        order.setState(OrderState.CRIADO);
+        order.setTotalValue(BigDecimal.ZERO);
+
+        Set<ConstraintViolation<Order>> validateOrder = this.validator.validate(order);
+
+        if (!validateOrder.isEmpty()) {
+            throw new ConstraintViolationException("Pedido inválido.", validateOrder);
+        }
+
+        Map<CatalogItem, BigInteger> products = validateProducts(order);
+        order.getProducts().forEach(productOrder -> order.setTotalValue(order.getTotalValue().add(
+                productOrder.getPrice().multiply(BigDecimal.valueOf(productOrder.getQuantity().intValue())))));
+        return products;
     }
 
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void setOrderStateToDelivered(BigInteger id, String userEmail, OrderState orderState) {
+        for (int attempt = 1; ; attempt++) {
+            Order order = orderRepository.findById(id).orElseThrow(
+                    () -> new NotFoundException("Nenhum pedido foi encontrado com o id: " + id + "."));
+
+            if(order.getState().equals(OrderState.ENTREGUE)) {
+                throw new IllegalArgumentException("O pedido já foi entregue na data: " +
+                        order.getOrderDelivered().format(DateTimeFormatter.ofPattern("dd/MM/YYYY")));
+            }
+
+            if(!orderState.equals(OrderState.ENTREGUE)) {
+                throw new IllegalArgumentException("Somente é possível alterar o estado do pedido para: ENTREGUE.");
+            }
+
+            if(order.getState().equals(OrderState.CRIADO)) {
+                throw new IllegalArgumentException("Não é possível alterar o estado para ENTREGUE antes do pedido ser enviado.");
+            }
+
+            if (!order.getClient().getEmail().equals(userEmail)) {
+                throw new NotFoundException("Nenhum pedido foi encontrado com o id: " + id + ".");
+            }
+
+            LocalDate delivered = LocalDate.now();
+            if (orderRepository.updateDelivered(id, OrderState.ENTREGUE, delivered,
+                    order.getState(), order.getVersion()) > 0) {
+                order.setOrderDelivered(delivered);
+                order.setState(OrderState.ENTREGUE);
+                log.info("Pedido alterado: {}", order.getState());
+                this.rabbitTemplate.convertAndSend("order-store", "order.store.updated.delivered", order);
+                return;
+            }
+
+            this.meterRegistry.counter("app.order.state.conflicts", "transition", OrderState.ENTREGUE.name(),
+                    "result", attempt < Order.STATE_UPDATE_ATTEMPTS ? "retried" : "rejected").increment();
+
+            if (attempt >= Order.STATE_UPDATE_ATTEMPTS) {
+                throw new ConcurrencyFailureException("O pedido foi alterado por outra operação, tente novamente.");
+            }
+            log.warn("Pedido {} alterado durante a entrega, tentativa {}.", id, attempt);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Order getOrderById(BigInteger id, String userEmail) {
         Order order = orderRepository.findById(id).orElseThrow(
                 () -> new NotFoundException("Nenhum pedido foi encontrado com o id: " + id + "."));
@@ -156,6 +300,7 @@ public class OrderService {
         return order;
     }
 
+    @Transactional(readOnly = true)
     public Page<Order> getOrdersPageByClient(Pageable pageable, String userEmail) {
         Client client = clientService.getClientByEmail(userEmail);
 
@@ -165,47 +310,53 @@ public class OrderService {
             throw new NotFoundException("Nenhum pedido foi encontrado.");
         }
 
+        ordersPage.forEach(order -> Hibernate.initialize(order.getProducts()));
+
         return ordersPage;
     }
 
-    private void validateProducts(Order order) {
-        int x = 0;
-        Product lastProduct = new Product();
-        List<ProductOrder> listProductsOrder = new ArrayList<>();
-        Set<ConstraintViolation<ProductOrder>> validateProducts = null;
+    private Map<CatalogItem, BigInteger> validateProducts(Order order) {
+        List<ProductOrder> listProductsOrder = normalizeProducts(order.getProducts());
+        Map<CatalogItem, BigInteger> products = new HashMap<>(listProductsOrder.size() * 2);
 
-        for (ProductOrder productOrder : order.getProducts()) {
-
-            validateProducts = this.validator.validate(productOrder);
-
-            if (!validateProducts.isEmpty()) {
-                throw new ConstraintViolationException("Produto inválido.", validateProducts);
-            }
-
-            Product product = productRepository.findProductByCodeAndStore(productOrder.getCode(), order.getStore())
-                    .orElseThrow(
-                            () -> new NotFoundException("Produto não encontrado.")
-                    );
+        for (ProductOrder productOrder : listProductsOrder) {
+            CatalogItem product = productCatalog.find(order.getStore(), productOrder.getCode())
+                    .orElseGet(() -> productRepository.findProductByCodeAndStore(productOrder.getCode(), order.getStore())
+                            .map(productCatalog::put)
+                            .orElseThrow(
+                                    () -> new NotFoundException("Produto não encontrado.")
+                            ));
 
             if (product.getQuantity().compareTo(productOrder.getQuantity()) < 0) {
                 throw new IllegalArgumentException("Não há quantidade disponível suficiente para o produto código: " +
                         product.getCode() + ", somente há disponível: " + product.getQuantity() + " ítens.");
             }
 
-            if (x > 0 && product.equals(lastProduct)) {
-                throw new IllegalArgumentException("Há produtos repetidos.");
+            productOrder.setPrice(product.getPrice());
+            productOrder.setOrder(order);
+            products.put(product, productOrder.getQuantity());
+        }
+        order.setProducts(listProductsOrder);
+        return products;
+    }
+
+    List<ProductOrder> normalizeProducts(List<ProductOrder> productsOrder) {
+        Set<String> codes = new HashSet<>(productsOrder.size() * 2);
+        List<ProductOrder> listProductsOrder = new ArrayList<>(productsOrder.size());
+
+        for (ProductOrder productOrder : productsOrder) {
+            Set<ConstraintViolation<ProductOrder>> validateProducts = this.validator.validate(productOrder);
+
+            if (!validateProducts.isEmpty()) {
+                throw new ConstraintViolationException("Produto inválido.", validateProducts);
             }
 
-            if (x % 2 == 0) {
-                lastProduct = product;
+            if (!codes.add(productOrder.getCode())) {
+                throw new IllegalArgumentException("Há produtos repetidos.");
             }
 
-            productOrder.setPrice(product.getPrice());
-            productOrder.setOrder(order);
             listProductsOrder.add(productOrder);
-
-            x++;
         }
-        order.setProducts(listProductsOrder);
+        return listProductsOrder;
     }
 }
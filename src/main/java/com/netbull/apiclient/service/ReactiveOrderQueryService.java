@@ -0,0 +1,197 @@
+package com.netbull.apiclient.service;
+
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.domain.order.OrderState;
+import com.netbull.apiclient.domain.order.ProductOrder;
+import com.netbull.apiclient.domain.store.Store;
+import io.r2dbc.spi.Row;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import javax.ws.rs.NotFoundException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura não bloqueante do histórico de pedidos, via R2DBC. Retorna o mesmo formato de
+ * {@link OrderService#getOrdersPageByClient} e {@link OrderService#getOrderById}, sem ocupar
+ * uma thread do servlet nem uma conexão JDBC durante a consulta.
+ */
+@Service
+public class ReactiveOrderQueryService {
+
+    private static final String SELECT_ORDER = "select o.id, o.state, o.order_created, o.order_dispatched, " +
+            "o.order_delivered, o.total_value, " +
+            "a.id as address_id, a.street, a.number, a.district, a.city, a.cep, a.state as address_state, " +
+            "t.id as type_id, t.description as type_description, " +
+            "c.id as client_id, c.name as client_name, c.cpf as client_cpf, c.email as client_email, " +
+            "c.birthday as client_birthday, " +
+            "s.id as store_id, s.cnpj as store_cnpj " +
+            "from order_client o " +
+            "join cliente c on c.id = o.client_id " +
+            "join address a on a.id = o.address_id " +
+            "join address_type t on t.id = a.type_id " +
+            "join store s on s.id = o.store_id ";
+
+    private static final String COUNT_ORDERS = "select count(*) as total from order_client o " +
+            "join cliente c on c.id = o.client_id where c.email = :email";
+
+    private static final String SELECT_PRODUCTS = "select id, price, quantity, code, order_id " +
+            "from product_order where order_id in (:ids) order by id";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "o.id",
+            "state", "o.state",
+            "orderCreated", "o.order_created",
+            "orderDispatched", "o.order_dispatched",
+            "orderDelivered", "o.order_delivered",
+            "totalValue", "o.total_value");
+
+    private DatabaseClient databaseClient;
+
+    public ReactiveOrderQueryService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Page<Order>> getOrdersPageByClient(Pageable pageable, String userEmail) {
+        return Mono.fromCallable(() -> orderBy(pageable.getSort()))
+                .flatMap(orderBy -> {
+                    Mono<List<Order>> orders = databaseClient.sql(SELECT_ORDER + "where c.email = :email " +
+                                    orderBy + " limit :limit offset :offset")
+                            .bind("email", userEmail)
+                            .bind("limit", pageable.getPageSize())
+                            .bind("offset", pageable.getOffset())
+                            .map((row, metadata) -> mapOrder(row))
+                            .all()
+                            .collectList()
+                            .flatMap(this::fetchProducts);
+
+                    Mono<Long> total = databaseClient.sql(COUNT_ORDERS)
+                            .bind("email", userEmail)
+                            .map((row, metadata) -> row.get("total", Long.class))
+                            .one();
+
+                    return Mono.zip(orders, total);
+                })
+                .flatMap(result -> result.getT1().isEmpty()
+                        ? Mono.error(new NotFoundException("Nenhum pedido foi encontrado."))
+                        : Mono.just(new PageImpl<>(result.getT1(), pageable, result.getT2())));
+    }
+
+    public Mono<Order> getOrderById(BigInteger id, String userEmail) {
+        return databaseClient.sql(SELECT_ORDER + "where o.id = :id and c.email = :email")
+                .bind("id", id)
+                .bind("email", userEmail)
+                .map((row, metadata) -> mapOrder(row))
+                .all()
+                .collectList()
+                .flatMap(this::fetchProducts)
+                .flatMap(orders -> orders.isEmpty()
+                        ? Mono.error(new NotFoundException("Nenhum pedido foi encontrado com o id: " + id + "."))
+                        : Mono.just(orders.get(0)));
+    }
+
+    private String orderBy(Sort sort) {
+        List<String> columns = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Não é possível ordenar os pedidos por: " + order.getProperty() + ".");
+            }
+            columns.add(column + (order.isAscending() ? " asc" : " desc"));
+        }
+        if (sort.getOrderFor("id") == null) {
+            columns.add("o.id asc");
+        }
+        return "order by " + String.join(", ", columns);
+    }
+
+    private Mono<List<Order>> fetchProducts(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Mono.just(orders);
+        }
+
+        Map<BigInteger, Order> byId = orders.stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        return databaseClient.sql(SELECT_PRODUCTS)
+                .bind("ids", new ArrayList<>(byId.keySet()))
+                .map((row, metadata) -> {
+                    Order order = byId.get(getBigInteger(row, "order_id"));
+                    ProductOrder productOrder = new ProductOrder();
+                    productOrder.setId(getBigInteger(row, "id"));
+                    productOrder.setPrice(row.get("price", BigDecimal.class));
+                    productOrder.setQuantity(getBigInteger(row, "quantity"));
+                    productOrder.setCode(row.get("code", String.class));
+                    productOrder.setOrder(order);
+                    order.getProducts().add(productOrder);
+                    return productOrder;
+                })
+                .all()
+                .then(Mono.just(orders));
+    }
+
+    private Order mapOrder(Row row) {
+        Type type = new Type();
+        type.setId(row.get("type_id", Integer.class));
+        type.setDescription(row.get("type_description", String.class));
+
+        Client client = new Client();
+        client.setId(getBigInteger(row, "client_id"));
+        client.setName(row.get("client_name", String.class));
+        client.setCpf(row.get("client_cpf", String.class));
+        client.setEmail(row.get("client_email", String.class));
+        client.setBirthday(row.get("client_birthday", LocalDate.class));
+
+        Address address = new Address();
+        address.setId(getBigInteger(row, "address_id"));
+        address.setStreet(row.get("street", String.class));
+        address.setNumber(row.get("number", String.class));
+        address.setDistrict(row.get("district", String.class));
+        address.setCity(row.get("city", String.class));
+        address.setCep(row.get("cep", String.class));
+        address.setState(row.get("address_state", String.class));
+        address.setType(type);
+        address.setClient(client);
+
+        Store store = new Store();
+        store.setId(getBigInteger(row, "store_id"));
+        store.setCnpj(row.get("store_cnpj", String.class));
+
+        Order order = new Order();
+        order.setId(getBigInteger(row, "id"));
+        order.setState(OrderState.valueOf(row.get("state", String.class)));
+        order.setOrderCreated(row.get("order_created", LocalDate.class));
+        order.setOrderDispatched(row.get("order_dispatched", LocalDate.class));
+        order.setOrderDelivered(row.get("order_delivered", LocalDate.class));
+        order.setTotalValue(row.get("total_value", BigDecimal.class));
+        order.setAddress(address);
+        order.setClient(client);
+        order.setStore(store);
+        order.setProducts(new ArrayList<>());
+        return order;
+    }
+
+    /**
+     * As colunas {@link BigInteger} são DECIMAL no schema gerado pelo Hibernate, e o driver
+     * as entrega como {@link BigDecimal}.
+     */
+    private BigInteger getBigInteger(Row row, String column) {
+        BigDecimal value = row.get(column, BigDecimal.class);
+        return value == null ? null : value.toBigIntegerExact();
+    }
+}
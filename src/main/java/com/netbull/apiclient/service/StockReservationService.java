@@ -0,0 +1,157 @@
+package com.netbull.apiclient.service;
+
+import com.netbull.apiclient.domain.store.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reservas de estoque dos pedidos. A baixa é feita numa transação própria e curta, de modo que as
+ * linhas de product_store ficam travadas só durante o UPDATE e não durante toda a criação do pedido.
+ * A reserva vale por stock.reservation.ttl: é confirmada junto com o pedido, devolvida se o pedido
+ * falhar e, se nada disso acontecer, devolvida por {@link #releaseExpired()}. Produtos em
+ * {@link HotStockCounters} são reservados só em memória e não passam pelo UPDATE. Os produtos chegam
+ * já resolvidos pelo {@link ProductCatalog}, com a quantidade somada por produto.
+ */
+@Service
+@Slf4j
+public class StockReservationService {
+
+    private StockReservationRepository stockReservationRepository;
+
+    private ProductRepository productRepository;
+
+    private ProductCatalog productCatalog;
+
+    private HotStockCounters hotStockCounters;
+
+    private MeterRegistry meterRegistry;
+
+    private Duration ttl;
+
+    public StockReservationService(StockReservationRepository stockReservationRepository,
+                                   ProductRepository productRepository, ProductCatalog productCatalog,
+                                   HotStockCounters hotStockCounters, MeterRegistry meterRegistry,
+                                   @Value("${stock.reservation.ttl:30s}") Duration ttl) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.productRepository = productRepository;
+        this.productCatalog = productCatalog;
+        this.hotStockCounters = hotStockCounters;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<StockReservation> reserve(Map<CatalogItem, BigInteger> products) {
+        Map<CatalogItem, BigInteger> quantities = new TreeMap<>(Comparator.comparing(CatalogItem::getId));
+        quantities.putAll(products);
+
+        Instant expires = Instant.now().plus(ttl);
+        List<StockReservation> reservations = new ArrayList<>(quantities.size());
+
+        try {
+            for (Map.Entry<CatalogItem, BigInteger> entry : quantities.entrySet()) {
+                reservations.add(reserve(entry.getKey(), entry.getValue(), expires));
+            }
+        } catch (RuntimeException e) {
+            reservations.stream()
+                    .filter(StockReservation::isInMemory)
+                    .forEach(reservation -> hotStockCounters.giveBack(reservation.getProductId(),
+                            reservation.getQuantity()));
+            throw e;
+        }
+
+        stockReservationRepository.saveAll(reservations.stream()
+                .filter(reservation -> !reservation.isInMemory())
+                .collect(Collectors.toList()));
+        return reservations;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirm(List<StockReservation> reservations) {
+        List<BigInteger> ids = reservations.stream()
+                .filter(reservation -> !reservation.isInMemory())
+                .map(StockReservation::getId)
+                .collect(Collectors.toList());
+
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        if (stockReservationRepository.deleteByIds(ids) < ids.size()) {
+            throw new ConcurrencyFailureException("A reserva de estoque expirou, tente novamente.");
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(List<StockReservation> reservations) {
+        reservations.forEach(reservation -> release(reservation, "cancelled"));
+    }
+
+    @Scheduled(fixedDelayString = "${stock.reservation.sweep-interval:5000}")
+    @Transactional
+    public void releaseExpired() {
+        List<StockReservation> expired = stockReservationRepository
+                .findTop500ByExpiresBeforeOrderByExpires(Instant.now());
+
+        expired.forEach(reservation -> release(reservation, "expired"));
+
+        if (!expired.isEmpty()) {
+            log.info("Reservas de estoque expiradas devolvidas: {}", expired.size());
+        }
+    }
+
+    private StockReservation reserve(CatalogItem product, BigInteger quantity, Instant expires) {
+        if (hotStockCounters.isHot(product.getId())) {
+            if (hotStockCounters.tryTake(product.getId(), quantity)) {
+                return StockReservation.inMemory(product.getId(), quantity);
+            }
+            // o produto pode ter saído da memória entre as duas chamadas; nesse caso a baixa vai ao banco
+            if (hotStockCounters.isHot(product.getId())) {
+                throw unavailable(product, hotStockCounters.available(product.getId()));
+            }
+        }
+
+        if (productRepository.reserveQuantity(product.getId(), quantity) == 0) {
+            BigInteger available = productRepository.findQuantityById(product.getId());
+            productCatalog.updateQuantity(product.getId(), available);
+            throw unavailable(product, available);
+        }
+
+        productCatalog.adjustQuantityAfterCommit(product, quantity.negate());
+        return StockReservation.of(product.getId(), quantity, expires);
+    }
+
+    private IllegalArgumentException unavailable(CatalogItem product, BigInteger available) {
+        return new IllegalArgumentException("Não há quantidade disponível suficiente para o produto código: " +
+                product.getCode() + ", somente há disponível: " + available + " ítens.");
+    }
+
+    private void release(StockReservation reservation, String reason) {
+        if (reservation.isInMemory()) {
+            hotStockCounters.giveBack(reservation.getProductId(), reservation.getQuantity());
+            this.meterRegistry.counter("app.stock.reservations.released", "reason", reason).increment();
+            return;
+        }
+
+        if (stockReservationRepository.deleteByIds(List.of(reservation.getId())) == 0) {
+            return;
+        }
+
+        productRepository.releaseQuantity(reservation.getProductId(), reservation.getQuantity());
+        productCatalog.updateQuantityAfterCommit(reservation.getProductId(),
+                productRepository.findQuantityById(reservation.getProductId()));
+        this.meterRegistry.counter("app.stock.reservations.released", "reason", reason).increment();
+    }
+}
@@ -0,0 +1,34 @@
+package com.netbull.apiclient.utility;
+
+import com.netbull.apiclient.domain.EntityVersion;
+import com.netbull.apiclient.domain.address.Type;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(EntityVersion version) {
+        return "\"" + version.getId() + "-" + version.getVersion() + "\"";
+    }
+
+    public static String ofVersions(Collection<? extends EntityVersion> versions) {
+        StringBuilder builder = new StringBuilder();
+        versions.forEach(version -> builder.append(version.getId()).append(':').append(version.getVersion()).append(';'));
+        return digest(builder);
+    }
+
+    public static String ofTypes(Collection<Type> types) {
+        StringBuilder builder = new StringBuilder();
+        types.forEach(type -> builder.append(type.getId()).append(':').append(type.getDescription()).append(';'));
+        return digest(builder);
+    }
+
+    private static String digest(StringBuilder builder) {
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
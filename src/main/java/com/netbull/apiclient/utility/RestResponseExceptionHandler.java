@@ -1,5 +1,6 @@
 package com.netbull.apiclient.utility;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +33,11 @@ public class RestResponseExceptionHandler {
         return ResponseEntity.badRequest().body(exMethod.getMessage());
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> handleConcurrencyFailure(ConcurrencyFailureException exMethod, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exMethod.getMessage());
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<String> handleNotFound(NotFoundException exMethod, WebRequest request) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exMethod.getMessage());
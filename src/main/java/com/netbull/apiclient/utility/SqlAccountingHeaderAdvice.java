@@ -0,0 +1,34 @@
+package com.netbull.apiclient.utility;
+
+import com.netbull.apiclient.config.SqlAccounting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+public class SqlAccountingHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Value("${sql.accounting.header.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlAccounting.Stats stats = SqlAccounting.current();
+        if (stats != null) {
+            response.getHeaders().set(SqlAccounting.HEADER, stats.toString());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,96 @@
+package com.netbull.apiclient.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    @DisplayName("Testa rejeição acima do limite e liberação ao concluir.")
+    public void test_rejeitaAcimaDoLimite() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(FAST);
+        assertEquals(1, limit.getInFlight());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Testa que o limite cresce com latência estável e cai quando a latência sobe.")
+    public void test_limiteAcompanhaALatencia() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+
+        saturate(limit, FAST, 50);
+        int grown = limit.getLimit();
+        assertTrue(grown > 10, "limite " + grown);
+
+        saturate(limit, SLOW, 5);
+        assertTrue(limit.getLimit() < grown, "limite " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Testa que o limite não cresce sem carga.")
+    public void test_limiteNaoCresceSemCarga() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+
+        for (int x = 0; x < 100; x++) {
+            limit.tryAcquire();
+            limit.release(FAST);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Testa resposta 503 com Retry-After e contagem das rejeições.")
+    public void test_interceptorRejeitaCom503() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1);
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor("order", limit, meterRegistry);
+
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/v1/clients/orders");
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), null));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("POST", "/v1/clients/orders"), rejected, null));
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/v1/clients/orders"),
+                new MockHttpServletResponse(), null));
+
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), null, null);
+        assertEquals(0, limit.getInFlight());
+        assertEquals(1, meterRegistry.counter("app.concurrency.rejected", "endpoint", "order").count());
+        assertEquals(1, meterRegistry.get("app.concurrency.limit").tag("endpoint", "order").gauge().value());
+    }
+
+    private void saturate(AdaptiveConcurrencyLimit limit, long rtt, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int x = 0; x < acquired; x++) {
+                limit.release(rtt);
+            }
+        }
+    }
+}
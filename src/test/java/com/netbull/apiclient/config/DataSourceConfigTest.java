@@ -0,0 +1,73 @@
+package com.netbull.apiclient.config;
+
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:datasource;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.boot.admin.client.enabled=false"
+})
+class DataSourceConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Test
+    @DisplayName("Testa que o contexto sobe com o pool JDBC do JPA e o cliente R2DBC juntos.")
+    public void test_contextoComJdbcER2dbc() throws SQLException {
+        assertEquals("jdbc:h2:mem:datasource;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                dataSource.unwrap(HikariDataSource.class).getJdbcUrl());
+        assertTrue(transactionManager instanceof JpaTransactionManager);
+        assertNotNull(databaseClient);
+
+        Type type = new Type();
+        type.setId(1);
+        type.setDescription("Casa");
+        typeRepository.save(type);
+
+        assertTrue(typeRepository.findById(1).isPresent());
+    }
+
+    @Test
+    @DisplayName("Testa que a contabilização de SQL envolve só o DataSource da aplicação e não o pool.")
+    public void test_contabilizacaoSomenteNoDataSourceDaAplicacao() throws SQLException {
+        assertTrue(dataSource instanceof ProxyDataSource);
+        assertSame(primaryDataSource, dataSource.unwrap(HikariDataSource.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.netbull.apiclient.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JsonLogLayoutTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Logger logger;
+
+    private JsonLogLayout layout;
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.logger = new LoggerContext().getLogger(JsonLogLayoutTest.class);
+        this.layout = new JsonLogLayout();
+        this.layout.setApplication("netBullClient");
+    }
+
+    @Test
+    @DisplayName("Testa o evento em uma linha JSON com mensagem, modelo e MDC.")
+    public void test_eventoEmJson() throws Exception {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "Pedido alterado: {}", null, new Object[]{"EM \"TRÂNSITO\"\n"});
+        event.setMDCPropertyMap(Map.of("pedido", "42"));
+
+        String line = layout.doLayout(event);
+        assertEquals(1, line.trim().lines().count());
+
+        JsonNode json = objectMapper.readTree(line);
+        assertEquals("INFO", json.get("level").asText());
+        assertEquals("netBullClient", json.get("application").asText());
+        assertEquals("Pedido alterado: EM \"TRÂNSITO\"\n", json.get("message").asText());
+        assertEquals("Pedido alterado: {}", json.get("template").asText());
+        assertEquals("42", json.get("mdc").get("pedido").asText());
+        assertFalse(json.has("exception"));
+    }
+
+    @Test
+    @DisplayName("Testa a pilha da exceção no campo exception.")
+    public void test_eventoComExcecao() throws Exception {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR,
+                "Falha ao gravar", new IllegalStateException("sem conexão"), null);
+
+        JsonNode json = objectMapper.readTree(layout.doLayout(event));
+
+        assertEquals("ERROR", json.get("level").asText());
+        assertTrue(json.get("exception").asText().contains("IllegalStateException: sem conexão"));
+    }
+}
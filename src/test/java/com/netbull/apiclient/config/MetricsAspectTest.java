@@ -0,0 +1,123 @@
+package com.netbull.apiclient.config;
+
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.domain.store.*;
+import com.netbull.apiclient.service.ClientService;
+import com.netbull.apiclient.service.StockReservationService;
+import com.netbull.apiclient.utility.StringUtils;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DuplicateKeyException;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import javax.ws.rs.NotFoundException;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ClientRepository clientRepository;
+
+    private Validator validator;
+
+    private ClientService clientService;
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.clientRepository = Mockito.mock(ClientRepository.class);
+        this.validator = Mockito.mock(Validator.class);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ClientService(validator, clientRepository,
+                Mockito.mock(AddressRepository.class), Mockito.mock(StringUtils.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MetricsAspect(meterRegistry));
+        this.clientService = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Testa timer de serviço quando a chamada tem sucesso.")
+    public void test_timerDeServico_sucesso() {
+        when(clientRepository.findById(any())).thenReturn(Optional.of(new Client()));
+
+        clientService.getClientById(BigInteger.ONE);
+
+        Timer timer = timer("getClientById", "success");
+        assertEquals(1, timer.count());
+        assertTrue(timer.takeSnapshot().percentileValues().length > 0);
+    }
+
+    @Test
+    @DisplayName("Testa timer de serviço quando não encontra.")
+    public void test_timerDeServico_naoEncontrado() {
+        when(clientRepository.findById(any())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> clientService.getClientById(BigInteger.ONE));
+
+        assertEquals(1, timer("getClientById", "not_found").count());
+    }
+
+    @Test
+    @DisplayName("Testa timer de serviço quando o email já existe.")
+    public void test_timerDeServico_duplicado() {
+        Client client = new Client();
+        client.setEmail("a@A");
+        when(validator.validate(any(Client.class))).thenReturn(Set.of());
+        when(clientRepository.findByEmail(any())).thenReturn(Optional.of(client));
+
+        assertThrows(DuplicateKeyException.class, () -> clientService.persistClient(client));
+
+        assertEquals(1, timer("persistClient", "duplicate").count());
+    }
+
+    @Test
+    @DisplayName("Testa que serviços chamados de dentro dos serviços medidos não ganham timer próprio.")
+    public void test_servicoInterno_semTimer() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new StockReservationService(
+                Mockito.mock(StockReservationRepository.class), Mockito.mock(ProductRepository.class),
+                Mockito.mock(ProductCatalog.class), Mockito.mock(HotStockCounters.class), meterRegistry,
+                Duration.ofSeconds(30)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MetricsAspect(meterRegistry));
+        StockReservationService stockReservationService = factory.getProxy();
+
+        stockReservationService.confirm(List.of());
+
+        assertTrue(meterRegistry.find(MetricsAspect.SERVICE_TIMER).timers().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa classificação do resultado pelas exceções.")
+    public void test_classificacaoDoResultado() {
+        assertEquals("validation_failure", MetricsAspect.outcome(new IllegalArgumentException()));
+        assertEquals("validation_failure", MetricsAspect.outcome(new ConstraintViolationException(Set.of())));
+        assertEquals("error", MetricsAspect.outcome(new IllegalStateException()));
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.get(MetricsAspect.SERVICE_TIMER)
+                .tag("class", "ClientService")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,131 @@
+package com.netbull.apiclient.config;
+
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "replica.datasource.url=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "replica.datasource.read-your-writes=1s",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.boot.admin.client.enabled=false"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    public void setup() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        new JdbcTemplate(primaryDataSource).queryForList("script nodata", String.class).stream()
+                .filter(statement -> !statement.startsWith("--"))
+                .forEach(replica::execute);
+
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Testa que as leituras somente leitura vão para a réplica e as escritas para o principal.")
+    public void test_leituraNaReplicaEscritaNoPrincipal() {
+        clientRepository.save(newClient("replica@versnelt", "31313131313"));
+
+        assertTrue(clientRepository.findByEmail("replica@versnelt").isEmpty());
+        assertTrue(readOnly.execute(status -> clientRepository.findByEmail("replica@versnelt")).isEmpty());
+        assertTrue(readWrite.execute(status -> clientRepository.findByEmail("replica@versnelt")).isPresent());
+    }
+
+    @Test
+    @DisplayName("Testa que o usuário lê do principal logo depois da própria escrita.")
+    public void test_leituraDaPropriaEscrita() throws InterruptedException {
+        authenticate("escrita@versnelt");
+        clientRepository.save(newClient("escrita@versnelt", "32323232323"));
+
+        assertTrue(clientRepository.findByEmail("escrita@versnelt").isPresent());
+
+        authenticate("outro@versnelt");
+        assertTrue(clientRepository.findByEmail("escrita@versnelt").isEmpty());
+
+        Thread.sleep(1100);
+        authenticate("escrita@versnelt");
+        assertTrue(clientRepository.findByEmail("escrita@versnelt").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa que as escritas fora da janela de leitura da própria escrita são descartadas.")
+    public void test_escritasVencidas_saemDoRegistro() throws InterruptedException {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                Duration.ofMillis(50));
+
+        for (int x = 0; x < 100; x++) {
+            routing.recordWrite("usuario" + x + "@versnelt");
+        }
+        assertEquals(100, routing.trackedUsers());
+
+        Thread.sleep(60);
+        routing.recordWrite("ultimo@versnelt");
+
+        assertEquals(1, routing.trackedUsers());
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private Client newClient(String email, String cpf) {
+        Client client = new Client();
+        client.setName("Cliente Réplica");
+        client.setCpf(cpf);
+        client.setEmail(email);
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+        return client;
+    }
+}
@@ -0,0 +1,52 @@
+package com.netbull.apiclient.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SampledLogFilterTest {
+
+    private Logger logger;
+
+    private SampledLogFilter filter;
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.logger = new LoggerContext().getLogger(SampledLogFilterTest.class);
+        this.filter = new SampledLogFilter();
+        this.filter.setMessages("Pedido alterado, Loja alterada");
+        this.filter.setRate(10);
+    }
+
+    @Test
+    @DisplayName("Testa que só um a cada dez eventos de alto volume é registrado.")
+    public void test_amostraEventosDeAltoVolume() {
+        int accepted = 0;
+        for (int x = 0; x < 100; x++) {
+            if (filter.decide(event(Level.INFO, "Pedido alterado: {}")) != FilterReply.DENY) {
+                accepted++;
+            }
+        }
+
+        assertEquals(10, accepted);
+    }
+
+    @Test
+    @DisplayName("Testa que as demais mensagens e os avisos passam sem amostragem.")
+    public void test_demaisMensagensPassam() {
+        for (int x = 0; x < 20; x++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, "Cliente cadastrado: {}")));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.WARN, "Pedido alterado: {}")));
+        }
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, null, new Object[]{"ENTREGUE"});
+    }
+}
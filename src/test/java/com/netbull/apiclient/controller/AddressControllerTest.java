@@ -170,6 +170,56 @@ public class AddressControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    @DisplayName("Cria endereços em lote, retornando o resultado de cada um.")
+    public void test_criarEnderecosEmLote_retorna200ComResultadoPorItem() throws Exception {
+
+        Type type = new Type();
+        type.setId(Integer.valueOf(1));
+        type.setDescription("Escritório");
+
+        typeRepository.save(type);
+
+        Address address = new Address();
+        address.setStreet("rua");
+        address.setNumber("123456");
+        address.setDistrict("Centro");
+        address.setCity("Alto Feliz");
+        address.setCep("95773000");
+        address.setState("Rio Grande do Sul");
+        address.setType(type);
+
+        Type unknownType = new Type();
+        unknownType.setId(Integer.valueOf(999));
+
+        Address addressUnknownType = new Address();
+        addressUnknownType.setStreet("rua");
+        addressUnknownType.setNumber("10");
+        addressUnknownType.setDistrict("Centro");
+        addressUnknownType.setCity("Alto Feliz");
+        addressUnknownType.setCep("95773000");
+        addressUnknownType.setState("Rio Grande do Sul");
+        addressUnknownType.setType(unknownType);
+
+        ResultActions resultActions = this.mvc.perform(
+                        MockMvcRequestBuilders.post(URI_ADDRESS.concat("/bulk"))
+                                .header("Authorization", bearerToken.toString())
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(List.of(address, addressUnknownType, new Address())))
+                ).andDo(print())
+                .andExpect(status().isOk());
+
+        List<HashMap<String, Object>> results = mapper.readValue(
+                resultActions.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8), List.class);
+
+        assertEquals(3, results.size());
+        assertEquals(201, results.get(0).get("status"));
+        assertTrue(results.get(0).containsKey("id"));
+        assertEquals(404, results.get(1).get("status"));
+        assertEquals(400, results.get(2).get("status"));
+    }
+
     @Test
     @DisplayName("Busca endereço por id, quando existe e quando não existe.")
     public void test_buscaEnderecoPorId_retona201() throws Exception {
@@ -1,10 +1,13 @@
 package com.netbull.apiclient.controller;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.netbull.apiclient.config.SqlAccounting;
 import com.netbull.apiclient.domain.client.Client;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,9 +28,13 @@ import javax.ws.rs.core.MediaType;
 import java.lang.annotation.Annotation;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -44,6 +51,9 @@ public class ClientControllerTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private MockMvc mvc;
 
     private static final JacksonAnnotationIntrospector INTROSPECTOR = new JacksonAnnotationIntrospector() {
@@ -251,6 +261,89 @@ public class ClientControllerTest {
         assertEquals(client.getCpf(), clientConsulted.getCpf());
     }
 
+    @Test
+    @DisplayName("Busca cliente por id com ETag, retornando 304 quando não foi alterado.")
+    public void test_buscaClientePorIdComETag_retona304() throws Exception {
+        Client client = new Client();
+
+        client.setName("Sabrina Etag");
+        client.setCpf("33333333399");
+        client.setEmail("a@etag");
+        client.setBirthday(LocalDate.now().minusDays(1));
+        client.setPassword("abc");
+
+        ResultActions resultCreated = this.mvc.perform(
+                        MockMvcRequestBuilders.post(URI_CLIENT)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(client))
+                ).andDo(print())
+                .andExpect(status().isCreated());
+
+        String location = resultCreated.andReturn().getResponse().getHeader("Location");
+
+        ResultActions resultConsulted = this.mvc.perform(
+                        MockMvcRequestBuilders.get(location)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"));
+
+        String eTag = resultConsulted.andReturn().getResponse().getHeader("ETag");
+        assertNotNull(eTag);
+
+        this.mvc.perform(
+                        MockMvcRequestBuilders.get(location)
+                                .header("If-None-Match", eTag)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+
+        this.mvc.perform(
+                        MockMvcRequestBuilders.get(location)
+                                .header("If-None-Match", "\"outro\"")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Busca cliente por id com a contabilização de SQL no cabeçalho e nas métricas.")
+    public void test_buscaClientePorIdComContabilizacaoDeSql() throws Exception {
+        Client client = new Client();
+
+        client.setName("Sabrina Sql");
+        client.setCpf("33333333335");
+        client.setEmail("a@sql");
+        client.setBirthday(LocalDate.now().minusDays(1));
+        client.setPassword("abc");
+
+        String location = this.mvc.perform(
+                        MockMvcRequestBuilders.post(URI_CLIENT)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(client))
+                ).andDo(print())
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+
+        String stats = this.mvc.perform(
+                        MockMvcRequestBuilders.get(location)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlAccounting.HEADER);
+
+        assertNotNull(stats);
+        assertTrue(stats.matches("statements=[1-9]\\d*;rows=[1-9]\\d*;time=\\d+ms"), stats);
+
+        assertTrue(meterRegistry.get("app.sql.statements")
+                .tag("source", "http")
+                .tag("operation", "GET /v1/clients/{id}")
+                .summary().count() > 0);
+    }
+
     @Test
     @DisplayName("Altera atributos do cliente.")
     @WithMockUser(username = "aDewes@versnelt5")
@@ -311,6 +404,68 @@ public class ClientControllerTest {
         assertEquals(newClient.getName(), clientConsulted.getName());
     }
 
+    @Test
+    @DisplayName("Importa clientes em lote, retornando o resultado de cada registro.")
+    @WithMockUser("importador@versnelt")
+    public void test_importaClientesEmLote_retorna200() throws Exception {
+        Client client = new Client();
+
+        client.setName("Importado Um");
+        client.setCpf("55555555551");
+        client.setEmail("importado1@versnelt");
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+
+        Client repeated = new Client();
+
+        repeated.setName("Importado Dois");
+        repeated.setCpf("55555555551");
+        repeated.setEmail("importado2@versnelt");
+        repeated.setBirthday(LocalDate.now().minusYears(20));
+        repeated.setPassword("abc");
+
+        ResultActions resultImport = this.mvc.perform(
+                        MockMvcRequestBuilders.post(URI_CLIENT.concat("/bulk"))
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(List.of(client, repeated)))
+                ).andDo(print())
+                .andExpect(status().isOk());
+
+        JsonNode report = mapper.readTree(resultImport.andReturn().getResponse().getContentAsString());
+
+        assertEquals(1, report.get("created").asInt());
+        assertEquals(1, report.get("rejected").asInt());
+        assertEquals(201, report.get("results").get(0).get("status").asInt());
+        assertEquals("CPF já cadastrado.", report.get("results").get(1).get("message").asText());
+
+        this.mvc.perform(
+                        MockMvcRequestBuilders.get(URI_CLIENT.concat("/email/{email}"), "importado1@versnelt")
+                                .accept(MediaType.APPLICATION_JSON)
+                ).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Testa importação em lote por usuário sem permissão.")
+    @WithMockUser("naoimportador@versnelt")
+    public void test_importaClientesEmLoteSemPermissao_retorna403() throws Exception {
+        Client client = new Client();
+
+        client.setName("Importado Três");
+        client.setCpf("55555555553");
+        client.setEmail("importado3@versnelt");
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+
+        this.mvc.perform(
+                        MockMvcRequestBuilders.post(URI_CLIENT.concat("/bulk"))
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(List.of(client)))
+                ).andDo(print())
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Testa método delete.")
     @WithMockUser("a@versnelt6")
@@ -37,6 +37,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -242,6 +243,115 @@ class OrderControllerTest {
         assertEquals("Pedido criado.", resultActions.andReturn().getResponse().getContentAsString());
     }
 
+    @Test
+    @DisplayName("Testa aceite assíncrono do pedido e consulta do andamento.")
+    public void test_aceitarPedidoAssincrono_retorna202() throws Exception {
+        ProductOrder productOrder = new ProductOrder();
+        productOrder.setCode("1");
+        productOrder.setQuantity(BigInteger.ONE);
+
+        Order order = new Order();
+        order.setProducts(List.of(productOrder));
+        order.setStore(store);
+
+        ResultActions resultActions = mvc.perform(
+                MockMvcRequestBuilders.post(URI_ORDER.concat("/async"))
+                        .header("Authorization", bearerToken.toString())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(order))
+        ).andDo(print()).andExpect(status().isAccepted());
+
+        HashMap<String, Object> accepted = mapper.readValue(
+                resultActions.andReturn().getResponse().getContentAsString(), HashMap.class);
+        String reference = (String) accepted.get("reference");
+
+        assertEquals("PENDENTE", accepted.get("state"));
+        assertTrue(resultActions.andReturn().getResponse().getHeader("Location")
+                .endsWith(URI_ORDER + "/requests/" + reference));
+
+        HashMap<String, Object> request = accepted;
+        for (int x = 0; x < 100 && !Set.of("CRIADO", "REJEITADO").contains(request.get("state")); x++) {
+            Thread.sleep(100);
+            request = mapper.readValue(mvc.perform(
+                    MockMvcRequestBuilders.get(URI_ORDER.concat("/requests/{reference}"), reference)
+                            .header("Authorization", bearerToken.toString())
+                            .accept(MediaType.APPLICATION_JSON)
+            ).andExpect(status().isOk()).andReturn().getResponse().getContentAsString(), HashMap.class);
+        }
+
+        assertEquals("CRIADO", request.get("state"));
+        assertTrue(request.containsKey("orderId"));
+    }
+
+    @Test
+    @DisplayName("Testa aceite assíncrono com produtos repetidos, rejeitado antes de enfileirar.")
+    public void test_aceitarPedidoAssincronoComProdutosRepetidos_retorna400() throws Exception {
+        ProductOrder productOrder = new ProductOrder();
+        productOrder.setCode("1");
+        productOrder.setQuantity(BigInteger.ONE);
+
+        Order order = new Order();
+        order.setProducts(List.of(productOrder, productOrder));
+        order.setStore(store);
+
+        ResultActions resultActions = mvc.perform(
+                MockMvcRequestBuilders.post(URI_ORDER.concat("/async"))
+                        .header("Authorization", bearerToken.toString())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(order))
+        ).andExpect(status().isBadRequest());
+
+        assertEquals("Há produtos repetidos.",
+                resultActions.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Testa consulta do andamento de um pedido com referência inexistente.")
+    public void test_consultarPedidoAssincronoInexistente_retorna404() throws Exception {
+        mvc.perform(
+                MockMvcRequestBuilders.get(URI_ORDER.concat("/requests/{reference}"), "inexistente")
+                        .header("Authorization", bearerToken.toString())
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Testa criar pedidos em lote.")
+    public void test_criarPedidosEmLote_retornaResultadoPorPedido() throws Exception {
+        ProductOrder productOrder = new ProductOrder();
+        productOrder.setCode("1");
+        productOrder.setQuantity(BigInteger.ONE);
+        Order order = new Order();
+        order.setProducts(List.of(productOrder));
+        order.setStore(store);
+
+        ProductOrder unknown = new ProductOrder();
+        unknown.setCode("99");
+        unknown.setQuantity(BigInteger.ONE);
+        Order orderUnknown = new Order();
+        orderUnknown.setProducts(List.of(unknown));
+        orderUnknown.setStore(store);
+
+        ResultActions resultActions = mvc.perform(
+                MockMvcRequestBuilders.post(URI_ORDER.concat("/bulk"))
+                        .header("Authorization", bearerToken.toString())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(order, orderUnknown)))
+        ).andDo(print()).andExpect(status().isOk());
+
+        List<HashMap<String, Object>> results = mapper.readValue(
+                resultActions.andReturn().getResponse().getContentAsString(), List.class);
+
+        assertEquals(2, results.size());
+        assertEquals(201, results.get(0).get("status"));
+        assertTrue(results.get(0).containsKey("id"));
+        assertEquals(404, results.get(1).get("status"));
+        assertEquals("Produto não encontrado.", results.get(1).get("message"));
+    }
+
     @Test
     @DisplayName("Testa busca de pedido por id.")
     public void test_buscaPedidoPorIdQuandoNaoExiste_retorna404() throws Exception {
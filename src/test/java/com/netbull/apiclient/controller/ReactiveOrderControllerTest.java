@@ -0,0 +1,243 @@
+package com.netbull.apiclient.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.order.*;
+import com.netbull.apiclient.domain.store.Store;
+import com.netbull.apiclient.domain.store.StoreRepository;
+import com.netbull.apiclient.security.model.JwtRequest;
+import com.netbull.apiclient.service.ClientService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource("classpath:application-test.properties")
+class ReactiveOrderControllerTest {
+
+    private static final String URI_ORDER = "/v1/clients/orders";
+    private static final String URI_REACTIVE = "/v1/clients/orders/reactive";
+    private static final String URI_AUTH = "/authenticate";
+    private static final String EMAIL = "reativo@versnelt";
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    private MockMvc mvc;
+
+    private String bearerToken;
+
+    private BigInteger orderId;
+
+    @BeforeAll
+    public void setup() throws Exception {
+        this.mvc = MockMvcBuilders.webAppContextSetup(this.wac)
+                .apply(springSecurity())
+                .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+                .build();
+
+        Client client = new Client();
+        client.setName("Cliente Reativo");
+        client.setCpf("32323232323");
+        client.setEmail(EMAIL);
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+        clientService.persistClient(client);
+
+        Type type = typeRepository.findById(1).get();
+
+        Address address = new Address();
+        address.setStreet("rua");
+        address.setNumber("32");
+        address.setDistrict("Centro");
+        address.setCity("Alto Feliz");
+        address.setCep("95773000");
+        address.setState("Rio Grande do Sul");
+        address.setType(type);
+        address.setClient(client);
+        addressRepository.save(address);
+
+        Store store = new Store();
+        store.setId(BigInteger.valueOf(32));
+        store.setCnpj("32323232323232");
+        storeRepository.save(store);
+
+        for (int x = 0; x < 3; x++) {
+            Order order = new Order();
+            order.setState(OrderState.CRIADO);
+            order.setOrderCreated(LocalDate.now());
+            order.setTotalValue(BigDecimal.TEN);
+            order.setClient(client);
+            order.setAddress(address);
+            order.setStore(store);
+
+            ProductOrder productOrder = new ProductOrder();
+            productOrder.setCode("32");
+            productOrder.setPrice(BigDecimal.TEN);
+            productOrder.setQuantity(BigInteger.ONE);
+            productOrder.setOrder(order);
+
+            order.setProducts(List.of(productOrder));
+            orderRepository.save(order);
+            productOrderRepository.saveAll(order.getProducts());
+            orderId = order.getId();
+        }
+
+        String token = mvc.perform(
+                        MockMvcRequestBuilders.post(URI_AUTH)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(new JwtRequest(EMAIL, "abc"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        bearerToken = "Bearer " + mapper.readValue(token, HashMap.class).get("jwtToken");
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem reativa retorna o mesmo conteúdo da listagem bloqueante.")
+    public void test_listagemReativa_igualListagemBloqueante() throws Exception {
+        JsonNode blocking = mapper.readTree(mvc.perform(
+                        MockMvcRequestBuilders.get(URI_ORDER)
+                                .header("Authorization", bearerToken)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        JsonNode reactive = mapper.readTree(getAsync(URI_REACTIVE));
+
+        assertEquals(3, reactive.get("totalElements").asInt());
+        assertEquals(blocking.get("content"), reactive.get("content"));
+    }
+
+    @Test
+    @DisplayName("Testa que a busca reativa por id retorna o mesmo conteúdo da busca bloqueante.")
+    public void test_buscaReativaPorId_igualBuscaBloqueante() throws Exception {
+        JsonNode blocking = mapper.readTree(mvc.perform(
+                        MockMvcRequestBuilders.get(URI_ORDER.concat("/{id}"), orderId)
+                                .header("Authorization", bearerToken)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        JsonNode reactive = mapper.readTree(getAsync(URI_REACTIVE + "/" + orderId));
+
+        assertEquals(blocking, reactive);
+    }
+
+    @Test
+    @DisplayName("Testa busca reativa por id quando não encontra.")
+    public void test_buscaReativaPorIdQuandoNaoEncontra_retorna404() throws Exception {
+        MvcResult result = mvc.perform(
+                        MockMvcRequestBuilders.get(URI_REACTIVE + "/{id}", BigInteger.valueOf(999999))
+                                .header("Authorization", bearerToken)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem reativa ordenada por outra propriedade retorna o mesmo conteúdo da listagem bloqueante.")
+    public void test_listagemReativaOrdenada_igualListagemBloqueante() throws Exception {
+        JsonNode blocking = mapper.readTree(mvc.perform(
+                        MockMvcRequestBuilders.get(URI_ORDER)
+                                .param("sort", "totalValue,desc")
+                                .param("sort", "id,desc")
+                                .header("Authorization", bearerToken)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        JsonNode reactive = mapper.readTree(getAsync(URI_REACTIVE + "?sort=totalValue,desc&sort=id,desc"));
+
+        assertEquals(orderId.toString(), reactive.get("content").get(0).get("id").asText());
+        assertEquals(blocking.get("content"), reactive.get("content"));
+    }
+
+    @Test
+    @DisplayName("Testa listagem reativa ordenada por propriedade desconhecida.")
+    public void test_listagemReativaOrdenacaoDesconhecida_retorna400() throws Exception {
+        MvcResult result = mvc.perform(
+                        MockMvcRequestBuilders.get(URI_REACTIVE)
+                                .param("sort", "client.password")
+                                .header("Authorization", bearerToken)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    private String getAsync(String uri) throws Exception {
+        MvcResult result = mvc.perform(
+                        MockMvcRequestBuilders.get(uri)
+                                .header("Authorization", bearerToken)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,190 @@
+package com.netbull.apiclient.domain.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotStockCountersTest {
+
+    private ProductRepository productRepository;
+
+    private HotStockCounters hotStockCounters;
+
+    private Product product;
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.productRepository = Mockito.mock(ProductRepository.class);
+        this.hotStockCounters = new HotStockCounters(productRepository, new ProductCatalog(productRepository),
+                Mockito.mock(PlatformTransactionManager.class), Set.of(), 8);
+
+        Store store = new Store();
+        store.setId(BigInteger.ONE);
+
+        this.product = new Product();
+        this.product.setId(BigInteger.TEN);
+        this.product.setCode("1");
+        this.product.setPrice(BigDecimal.TEN);
+        this.product.setQuantity(BigInteger.valueOf(10000));
+        this.product.setStore(store);
+    }
+
+    @Test
+    @DisplayName("Testa baixas concorrentes no estoque em memória sem vender além do disponível.")
+    public void test_baixasConcorrentes_semVenderAlemDoDisponivel() throws Exception {
+        hotStockCounters.register(product);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int x = 0; x < 16; x++) {
+            results.add(executor.submit(() -> {
+                int taken = 0;
+                while (hotStockCounters.tryTake(product.getId(), BigInteger.ONE)) {
+                    taken++;
+                }
+                return taken;
+            }));
+        }
+
+        int taken = 0;
+        for (Future<Integer> result : results) {
+            taken += result.get();
+        }
+        executor.shutdown();
+
+        assertEquals(10000, taken);
+        assertEquals(BigInteger.ZERO, hotStockCounters.available(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Testa baixa maior do que uma faixa e devolução quando não há quantidade suficiente.")
+    public void test_baixaEntreFaixas() {
+        product.setQuantity(BigInteger.valueOf(20));
+        hotStockCounters.register(product);
+
+        assertTrue(hotStockCounters.tryTake(product.getId(), BigInteger.valueOf(15)));
+        assertFalse(hotStockCounters.tryTake(product.getId(), BigInteger.valueOf(6)));
+        assertEquals(BigInteger.valueOf(5), hotStockCounters.available(product.getId()));
+
+        hotStockCounters.giveBack(product.getId(), BigInteger.valueOf(3));
+        assertEquals(BigInteger.valueOf(8), hotStockCounters.available(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Testa gravação no banco somente da diferença desde a última gravação.")
+    public void test_gravacaoDaDiferenca() {
+        hotStockCounters.register(product);
+
+        hotStockCounters.tryTake(product.getId(), BigInteger.valueOf(7));
+        hotStockCounters.flush();
+        hotStockCounters.flush();
+        hotStockCounters.tryTake(product.getId(), BigInteger.valueOf(2));
+        hotStockCounters.flush();
+
+        then(productRepository).should(times(1)).decrementQuantity(product.getId(), BigInteger.valueOf(7));
+        then(productRepository).should(times(1)).decrementQuantity(product.getId(), BigInteger.TWO);
+        then(productRepository).should(times(2)).decrementQuantity(any(), any());
+    }
+
+    @Test
+    @DisplayName("Testa recarga do estoque em memória gravando antes as vendas pendentes.")
+    public void test_recargaGravaVendasPendentes() {
+        hotStockCounters.register(product);
+        hotStockCounters.tryTake(product.getId(), BigInteger.valueOf(7));
+        when(productRepository.findQuantityById(product.getId())).thenReturn(BigInteger.valueOf(493));
+
+        hotStockCounters.reset(product.getId());
+        hotStockCounters.flush();
+
+        assertEquals(BigInteger.valueOf(493), hotStockCounters.available(product.getId()));
+        then(productRepository).should(times(1)).decrementQuantity(product.getId(), BigInteger.valueOf(7));
+        then(productRepository).should(times(1)).decrementQuantity(any(), any());
+    }
+
+    @Test
+    @DisplayName("Testa consulta e baixa de produto que não está em memória.")
+    public void test_produtoForaDaMemoria_usaOBanco() {
+        when(productRepository.findQuantityById(product.getId())).thenReturn(BigInteger.ONE);
+
+        assertFalse(hotStockCounters.tryTake(product.getId(), BigInteger.ONE));
+        assertEquals(BigInteger.ONE, hotStockCounters.available(product.getId()));
+
+        hotStockCounters.reset(product.getId());
+        assertFalse(hotStockCounters.isHot(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Testa recargas durante baixas concorrentes sem vender além do que foi gravado no banco.")
+    public void test_recargaDuranteBaixasConcorrentes_semVenderAlemDoBanco() throws Exception {
+        AtomicLong stored = new AtomicLong(product.getQuantity().longValue());
+        when(productRepository.decrementQuantity(any(), any())).thenAnswer(invocation -> {
+            stored.addAndGet(-invocation.<BigInteger>getArgument(1).longValue());
+            return 1;
+        });
+        when(productRepository.findQuantityById(product.getId()))
+                .thenAnswer(invocation -> BigInteger.valueOf(stored.get()));
+        hotStockCounters.register(product);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int x = 0; x < 8; x++) {
+            results.add(executor.submit(() -> {
+                int taken = 0;
+                while (hotStockCounters.tryTake(product.getId(), BigInteger.ONE)) {
+                    taken++;
+                }
+                return taken;
+            }));
+        }
+
+        for (int x = 0; x < 20; x++) {
+            hotStockCounters.reset(product.getId());
+            Thread.sleep(1);
+        }
+
+        int taken = 0;
+        for (Future<Integer> result : results) {
+            taken += result.get();
+        }
+        executor.shutdown();
+        hotStockCounters.flush();
+
+        assertEquals(10000, taken);
+        assertEquals(0, stored.get());
+    }
+
+    @Test
+    @DisplayName("Testa que o contador fechado não aceita baixas nem devoluções.")
+    public void test_contadorFechado_recusaBaixas() {
+        HotStockCounters.Counter counter = new HotStockCounters.Counter(10, 4);
+
+        counter.close();
+
+        assertFalse(counter.tryTake(1));
+        assertFalse(counter.give(1));
+        assertEquals(10, counter.available());
+    }
+}
@@ -0,0 +1,120 @@
+package com.netbull.apiclient.domain.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductCatalogTest {
+
+    private ProductRepository productRepository;
+
+    private ProductCatalog productCatalog;
+
+    private Store store;
+
+    private Product product;
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.productRepository = Mockito.mock(ProductRepository.class);
+        this.productCatalog = new ProductCatalog(productRepository);
+
+        this.store = new Store();
+        this.store.setId(BigInteger.ONE);
+        this.store.setCnpj("11111111111111");
+
+        this.product = new Product();
+        this.product.setId(BigInteger.TEN);
+        this.product.setCode("1");
+        this.product.setPrice(BigDecimal.TEN);
+        this.product.setQuantity(BigInteger.TEN);
+        this.product.setStore(store);
+    }
+
+    @Test
+    @DisplayName("Testa carga do catálogo a partir do banco.")
+    public void test_cargaDoCatalogo() {
+        Product withoutStore = new Product();
+        withoutStore.setId(BigInteger.TWO);
+        withoutStore.setCode("2");
+
+        when(productRepository.findAll()).thenReturn(List.of(product, withoutStore));
+
+        productCatalog.load();
+
+        CatalogItem item = productCatalog.find(store, "1").get();
+        assertEquals(product.getId(), item.getId());
+        assertEquals(product.getPrice(), item.getPrice());
+        assertEquals(product.getQuantity(), item.getQuantity());
+        assertTrue(productCatalog.find(store, "2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa que a carga não sobrescreve alterações recebidas pelos listeners.")
+    public void test_cargaNaoSobrescreveAlteracao() {
+        Product stale = new Product();
+        stale.setId(product.getId());
+        stale.setCode(product.getCode());
+        stale.setPrice(BigDecimal.ONE);
+        stale.setQuantity(BigInteger.ONE);
+        stale.setStore(store);
+
+        productCatalog.put(product);
+        when(productRepository.findAll()).thenReturn(List.of(stale));
+
+        productCatalog.load();
+
+        assertEquals(BigInteger.TEN, productCatalog.find(store, "1").get().getQuantity());
+    }
+
+    @Test
+    @DisplayName("Testa remoção de produto e de loja do catálogo.")
+    public void test_remocaoDoCatalogo() {
+        productCatalog.put(product);
+        productCatalog.remove(product.getId());
+        assertTrue(productCatalog.find(store, "1").isEmpty());
+
+        productCatalog.put(product);
+        productCatalog.removeStore(store.getId());
+        assertTrue(productCatalog.find(store, "1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa busca quando a loja não possui id.")
+    public void test_buscaSemLoja_retornaVazio() {
+        assertTrue(productCatalog.find(null, "1").isEmpty());
+        assertTrue(productCatalog.find(new Store(), "1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa atualização da quantidade pelo id do produto, inclusive depois da troca de código.")
+    public void test_atualizacaoDaQuantidadePeloId() {
+        productCatalog.put(product);
+        productCatalog.updateQuantity(product.getId(), BigInteger.ONE);
+        assertEquals(BigInteger.ONE, productCatalog.find(store, "1").get().getQuantity());
+
+        product.setCode("3");
+        productCatalog.put(product);
+        productCatalog.updateQuantity(product.getId(), BigInteger.TWO);
+
+        assertTrue(productCatalog.find(store, "1").isEmpty());
+        assertEquals(BigInteger.TWO, productCatalog.find(store, "3").get().getQuantity());
+
+        productCatalog.removeStore(store.getId());
+        productCatalog.updateQuantity(product.getId(), BigInteger.ONE);
+        assertTrue(productCatalog.find(store, "3").isEmpty());
+    }
+}
@@ -0,0 +1,177 @@
+package com.netbull.apiclient.listener;
+
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.domain.order.OrderRepository;
+import com.netbull.apiclient.domain.order.OrderState;
+import com.netbull.apiclient.domain.store.Store;
+import com.netbull.apiclient.domain.store.StoreRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource("classpath:application-test.properties")
+class OrderListenerTest {
+
+    @Autowired
+    private OrderListener orderListener;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Client client;
+
+    private Address address;
+
+    private Store store;
+
+    @BeforeAll
+    public void setup() {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+
+        Type type = new Type();
+        type.setId(1);
+        type.setDescription("Casa");
+        typeRepository.save(type);
+
+        this.client = new Client();
+        this.client.setName("Cliente Listener");
+        this.client.setCpf("42424242424");
+        this.client.setEmail("listener@versnelt");
+        this.client.setBirthday(LocalDate.now().minusYears(20));
+        this.client.setPassword("abc");
+        clientRepository.save(this.client);
+
+        this.address = new Address();
+        this.address.setStreet("rua");
+        this.address.setNumber("42");
+        this.address.setDistrict("Centro");
+        this.address.setCity("Alto Feliz");
+        this.address.setCep("95773000");
+        this.address.setState("Rio Grande do Sul");
+        this.address.setType(type);
+        this.address.setClient(this.client);
+        addressRepository.save(this.address);
+
+        this.store = new Store();
+        this.store.setId(BigInteger.valueOf(42));
+        this.store.setCnpj("42424242424242");
+        storeRepository.save(this.store);
+    }
+
+    @Test
+    @DisplayName("Testa que o envio do pedido é gravado com um único comando, sem ler o pedido.")
+    public void test_envioDoPedido_umUnicoUpdate() {
+        Order order = newOrder(OrderState.CRIADO);
+
+        statistics.clear();
+        orderListener.executeUpdate(dispatched(order.getId(), OrderState.ENVIADO));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        Order updated = orderRepository.findById(order.getId()).get();
+        assertEquals(OrderState.ENVIADO, updated.getState());
+        assertEquals(LocalDate.now(), updated.getOrderDispatched());
+    }
+
+    @Test
+    @DisplayName("Testa que o envio incrementa a versão do pedido, invalidando leituras anteriores.")
+    public void test_envioDoPedido_incrementaVersao() {
+        Order order = newOrder(OrderState.CRIADO);
+        Long version = orderRepository.findById(order.getId()).get().getVersion();
+
+        orderListener.executeUpdate(dispatched(order.getId(), OrderState.ENVIADO));
+
+        assertEquals(version + 1, orderRepository.findById(order.getId()).get().getVersion());
+        assertEquals(0, transactionTemplate.execute(status -> orderRepository.updateDelivered(order.getId(),
+                OrderState.ENTREGUE, LocalDate.now(), OrderState.ENVIADO, version)));
+    }
+
+    @Test
+    @DisplayName("Testa que um evento de envio não volta o estado de um pedido já entregue.")
+    public void test_envioDePedidoEntregue_naoVoltaOEstado() {
+        Order order = newOrder(OrderState.ENTREGUE);
+
+        orderListener.executeUpdate(dispatched(order.getId(), OrderState.ENVIADO));
+
+        Order updated = orderRepository.findById(order.getId()).get();
+        assertEquals(OrderState.ENTREGUE, updated.getState());
+        assertNull(updated.getOrderDispatched());
+    }
+
+    @Test
+    @DisplayName("Testa eventos com estado inicial ou pedido inexistente.")
+    public void test_eventoComEstadoInicialOuPedidoInexistente_ignorado() {
+        Order order = newOrder(OrderState.ENVIADO);
+
+        orderListener.executeUpdate(dispatched(order.getId(), OrderState.CRIADO));
+        assertEquals(OrderState.ENVIADO, orderRepository.findById(order.getId()).get().getState());
+
+        assertDoesNotThrow(() -> orderListener.executeUpdate(dispatched(BigInteger.valueOf(999999),
+                OrderState.ENVIADO)));
+    }
+
+    private Order newOrder(OrderState state) {
+        Order order = new Order();
+        order.setState(state);
+        order.setOrderCreated(LocalDate.now());
+        order.setTotalValue(BigDecimal.TEN);
+        order.setClient(client);
+        order.setAddress(address);
+        order.setStore(store);
+        order.setProducts(new ArrayList<>());
+        return orderRepository.save(order);
+    }
+
+    private Order dispatched(BigInteger id, OrderState state) {
+        Order order = new Order();
+        order.setId(id);
+        order.setState(state);
+        order.setOrderDispatched(LocalDate.now());
+        return order;
+    }
+}
@@ -0,0 +1,95 @@
+package com.netbull.apiclient.listener;
+
+import com.netbull.apiclient.domain.store.Product;
+import com.netbull.apiclient.domain.store.ProductRepository;
+import com.netbull.apiclient.domain.store.Store;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource("classpath:application-test.properties")
+class ProductListenerCacheTest {
+
+    @Autowired
+    private StoreListener storeListener;
+
+    @Autowired
+    private ProductListener productListener;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Store store;
+
+    private Product product;
+
+    @BeforeAll
+    public void setup() {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+
+        this.store = new Store();
+        this.store.setId(BigInteger.valueOf(27));
+        this.store.setCnpj("27272727272727");
+        storeListener.executeCreate(this.store);
+
+        this.product = new Product();
+        this.product.setId(BigInteger.valueOf(2701));
+        this.product.setCode("2701");
+        this.product.setPrice(BigDecimal.TEN);
+        this.product.setQuantity(BigInteger.TEN);
+        this.product.setStore(this.store);
+        productListener.executeCreate(this.product);
+    }
+
+    @Test
+    @DisplayName("Testa leitura do produto pelo cache de segundo nível.")
+    public void test_leituraDoProduto_usaCache() {
+        productRepository.findById(product.getId());
+        statistics.clear();
+
+        Product cached = productRepository.findById(product.getId()).get();
+
+        assertEquals(product.getCode(), cached.getCode());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("product").getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Testa coerência do cache após alteração pelo listener.")
+    public void test_alteracaoPeloListener_atualizaCache() {
+        productRepository.findProductsByStore(store);
+
+        Product changed = new Product();
+        changed.setId(product.getId());
+        changed.setCode(product.getCode());
+        changed.setPrice(BigDecimal.ONE);
+        changed.setQuantity(BigInteger.TWO);
+        productListener.executeUpdate(changed);
+
+        assertEquals(0, BigDecimal.ONE.compareTo(productRepository.findById(product.getId()).get().getPrice()));
+
+        Set<Product> products = productRepository.findProductsByStore(store).get();
+        assertEquals(BigInteger.TWO, products.iterator().next().getQuantity());
+    }
+}
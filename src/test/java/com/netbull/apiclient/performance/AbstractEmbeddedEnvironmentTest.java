@@ -0,0 +1,54 @@
+package com.netbull.apiclient.performance;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Sobe a aplicação completa sem serviços externos: H2 em memória no lugar do MySQL e o
+ * {@link EmbeddedAmqpBroker} no lugar do RabbitMQ. A exchange order-store, que no ambiente real é
+ * declarada pela api da loja, é declarada aqui sem filas, descartando as mensagens publicadas.
+ */
+@Tag("performance")
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.rabbitmq.host=localhost",
+        "spring.rabbitmq.listener.simple.retry.enabled=false",
+        "spring.rabbitmq.listener.simple.default-requeue-rejected=false",
+        "spring.boot.admin.client.enabled=false",
+        "sql.accounting.header.enabled=false",
+        "concurrency.limit.enabled=false"
+})
+@Import(AbstractEmbeddedEnvironmentTest.StoreExchangeConfig.class)
+abstract class AbstractEmbeddedEnvironmentTest {
+
+    @DynamicPropertySource
+    static void amqpProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.rabbitmq.port", EmbeddedAmqpBroker::port);
+    }
+
+    @TestConfiguration
+    static class StoreExchangeConfig {
+
+        @Bean
+        public Exchange orderStoreExchange() {
+            return ExchangeBuilder.topicExchange("order-store").build();
+        }
+    }
+}
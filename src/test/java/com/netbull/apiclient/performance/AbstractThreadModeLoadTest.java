@@ -0,0 +1,102 @@
+package com.netbull.apiclient.performance;
+
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.service.ClientService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Encontra a maior vazão sustentável (erros abaixo de 1% e p99 abaixo de 250ms) aumentando a
+ * concorrência a cada passo, com uma mistura de login (BCrypt) e listagem de clientes (JPA).
+ * O resultado de cada modo de threads é gravado em target/performance/http-thread-mode.txt.
+ */
+@Tag("performance")
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource("classpath:application-test.properties")
+abstract class AbstractThreadModeLoadTest {
+
+    private static final String EMAIL = "carga@versnelt";
+    private static final String PASSWORD = "abc";
+    private static final double MAX_ERROR_RATE = 0.01;
+    private static final double MAX_P99_MILLIS = 250;
+    private static final int[] CONCURRENCY = {8, 16, 32, 64, 128, 256, 512};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    protected abstract String mode();
+
+    @BeforeAll
+    public void setup() {
+        if (clientRepository.findByEmail(EMAIL).isEmpty()) {
+            Client client = new Client();
+            client.setName("Carga");
+            client.setCpf("31313131313");
+            client.setEmail(EMAIL);
+            client.setBirthday(LocalDate.now().minusYears(20));
+            client.setPassword(PASSWORD);
+            clientService.persistClient(client);
+        }
+    }
+
+    @Test
+    @DisplayName("Mede a maior vazão sustentável do modo de threads.")
+    public void test_maiorVazaoSustentavel() {
+        HttpLoadDriver driver = new HttpLoadDriver();
+        Duration stepDuration = Duration.ofSeconds(Long.getLong("load.step.seconds", 10));
+        String base = "http://localhost:" + port;
+
+        driver.run(8, Duration.ofSeconds(3), sequence -> request(base, sequence));
+
+        HttpLoadDriver.Step best = null;
+        for (int concurrency : CONCURRENCY) {
+            HttpLoadDriver.Step step = driver.run(concurrency, stepDuration, sequence -> request(base, sequence));
+            HttpLoadDriver.report("http-thread-mode.txt", mode() + " " + step);
+
+            if (step.errorRate() > MAX_ERROR_RATE || step.getP99Millis() > MAX_P99_MILLIS) {
+                break;
+            }
+            if (best == null || step.getThroughput() > best.getThroughput()) {
+                best = step;
+            }
+        }
+
+        HttpLoadDriver.report("http-thread-mode.txt", mode() + " máximo sustentável: " + best);
+        assertTrue(best != null, "Nenhum passo sustentável para o modo " + mode());
+    }
+
+    private HttpRequest request(String base, long sequence) {
+        if (sequence % 2 == 0) {
+            return HttpRequest.newBuilder(URI.create(base + "/authenticate"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(base + "/v1/clients?page=0&size=10"))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.netbull.apiclient.performance;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Broker AMQP 0-9-1 em memória (Qpid Broker-J), iniciado uma vez por JVM e compartilhado pelos testes
+ * de carga. Aceita guest/guest em qualquer virtual host.
+ */
+public final class EmbeddedAmqpBroker {
+
+    private static int port;
+
+    private EmbeddedAmqpBroker() {
+    }
+
+    public static synchronized int port() {
+        if (port == 0) {
+            port = start();
+        }
+        return port;
+    }
+
+    private static int start() {
+        int freePort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            freePort = socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+                EmbeddedAmqpBroker.class.getResource("/qpid-embedded.json").toExternalForm());
+        attributes.put(SystemConfig.CONTEXT, Map.of("qpid.amqp_port", freePort));
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+
+        SystemLauncher launcher = new SystemLauncher();
+        try {
+            launcher.startup(attributes);
+        } catch (Exception e) {
+            throw new IllegalStateException("Não foi possível iniciar o broker AMQP embarcado.", e);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(launcher::shutdown));
+        return freePort;
+    }
+}
@@ -0,0 +1,215 @@
+package com.netbull.apiclient.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.store.Product;
+import com.netbull.apiclient.domain.store.ProductRepository;
+import com.netbull.apiclient.domain.store.Store;
+import com.netbull.apiclient.domain.store.StoreRepository;
+import com.netbull.apiclient.service.ClientService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga de ponta a ponta pelas rotas HTTP reais, com uma mistura de cadastro, login, endereços e
+ * pedidos, em passos de concorrência (load.concurrency, padrão 16,64,256) de load.step.seconds cada.
+ * O resultado é gravado em target/performance/end-to-end.txt.
+ */
+class EndToEndLoadTest extends AbstractEmbeddedEnvironmentTest {
+
+    private static final String PASSWORD = "abc";
+    private static final int USERS = 50;
+    private static final BigInteger STORE_ID = BigInteger.valueOf(3600);
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private final AtomicLong signups = new AtomicLong();
+
+    private String base;
+
+    private String[] emails = new String[USERS];
+
+    private String[] tokens = new String[USERS];
+
+    private BigInteger[] addresses = new BigInteger[USERS];
+
+    @BeforeAll
+    public void setup() throws Exception {
+        base = "http://localhost:" + port;
+
+        Type type = new Type();
+        type.setId(1);
+        type.setDescription("Casa");
+        typeRepository.save(type);
+
+        Store store = new Store();
+        store.setId(STORE_ID);
+        store.setCnpj("36000000003600");
+        storeRepository.save(store);
+
+        Product product = new Product();
+        product.setId(STORE_ID);
+        product.setCode("1");
+        product.setPrice(BigDecimal.TEN);
+        product.setQuantity(BigInteger.valueOf(1_000_000_000));
+        product.setStore(store);
+        productRepository.save(product);
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        for (int x = 0; x < USERS; x++) {
+            Client client = new Client();
+            client.setName("Carga " + x);
+            client.setCpf(String.format("%011d", 36_000_000_000L + x));
+            client.setEmail("carga" + x + "@e2e");
+            client.setBirthday(LocalDate.now().minusYears(20));
+            client.setPassword(PASSWORD);
+            clientService.persistClient(client);
+
+            Address address = new Address();
+            address.setStreet("rua");
+            address.setNumber(String.valueOf(x));
+            address.setDistrict("Centro");
+            address.setCity("Alto Feliz");
+            address.setCep("95773000");
+            address.setState("Rio Grande do Sul");
+            address.setType(type);
+            address.setClient(client);
+            addressRepository.save(address);
+
+            emails[x] = client.getEmail();
+            addresses[x] = address.getId();
+
+            HttpResponse<String> response = httpClient.send(login(x), HttpResponse.BodyHandlers.ofString());
+            tokens[x] = "Bearer " + mapper.readTree(response.body()).get("jwtToken").asText();
+        }
+    }
+
+    @Test
+    @DisplayName("Mede vazão, latência e erros da mistura de cadastro, login, endereços e pedidos.")
+    public void test_cargaDePontaAPonta() {
+        HttpLoadDriver driver = new HttpLoadDriver();
+        Duration stepDuration = Duration.ofSeconds(Long.getLong("load.step.seconds", 10));
+        int[] concurrency = Arrays.stream(System.getProperty("load.concurrency", "16,64,256").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        driver.run(8, Duration.ofSeconds(3), this::request);
+
+        HttpLoadDriver.Step first = null;
+        for (int users : concurrency) {
+            HttpLoadDriver.Step step = driver.run(users, stepDuration, this::request);
+            HttpLoadDriver.report("end-to-end.txt", step.toString());
+            if (first == null) {
+                first = step;
+            }
+        }
+
+        assertTrue(first.errorRate() <= MAX_ERROR_RATE, "Taxa de erros no primeiro passo: " + first);
+    }
+
+    // Cada bloco de 20 requisições usa o mesmo cliente: 2 cadastros, 4 logins, 4 listagens e
+    // 2 cadastros de endereço, 4 pedidos criados e 4 listagens de pedidos.
+    private HttpRequest request(long sequence) {
+        int user = (int) ((sequence / 20) % USERS);
+        switch ((int) (sequence % 20)) {
+            case 0:
+            case 10:
+                return signup();
+            case 1:
+            case 6:
+            case 11:
+            case 16:
+                return login(user);
+            case 2:
+            case 7:
+            case 12:
+            case 17:
+                return authenticated(user, "/v1/clients/addresses").GET().build();
+            case 3:
+            case 13:
+                return authenticated(user, "/v1/clients/addresses")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"street\":\"rua\",\"number\":\"" + sequence +
+                                "\",\"district\":\"Centro\",\"city\":\"Alto Feliz\",\"cep\":\"95773000\"," +
+                                "\"state\":\"Rio Grande do Sul\",\"type\":{\"id\":1}}"))
+                        .build();
+            case 4:
+            case 9:
+            case 14:
+            case 19:
+                return authenticated(user, "/v1/clients/orders")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"store\":{\"id\":" + STORE_ID +
+                                "},\"address\":{\"id\":" + addresses[user] +
+                                "},\"products\":[{\"code\":\"1\",\"quantity\":1}]}"))
+                        .build();
+            default:
+                return authenticated(user, "/v1/clients/orders?page=0&size=10").GET().build();
+        }
+    }
+
+    private HttpRequest signup() {
+        long id = signups.incrementAndGet();
+        return HttpRequest.newBuilder(URI.create(base + "/v1/clients"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Novo " + id + "\",\"cpf\":\"" +
+                        String.format("%011d", 37_000_000_000L + id) + "\",\"email\":\"novo" + id +
+                        "@e2e\",\"birthday\":\"01/01/1990\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private HttpRequest login(int user) {
+        return HttpRequest.newBuilder(URI.create(base + "/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + emails[user] + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private HttpRequest.Builder authenticated(int user, String path) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Accept", "application/json")
+                .header("Authorization", tokens[user])
+                .timeout(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,163 @@
+package com.netbull.apiclient.performance;
+
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.domain.order.ProductOrder;
+import com.netbull.apiclient.domain.store.*;
+import com.netbull.apiclient.service.OrderService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede pedidos por segundo de um único produto com hot.threads threads concorrentes (padrão 64),
+ * primeiro com a reserva no banco e depois com o produto em {@link HotStockCounters}. O número de
+ * pedidos por modo vem de hot.orders (padrão 2000) e o resultado é gravado em
+ * target/performance/hot-product.txt.
+ */
+class HotProductContentionBenchmarkTest extends AbstractEmbeddedEnvironmentTest {
+
+    private static final BigInteger PRODUCT_ID = BigInteger.valueOf(3900);
+
+    private static final long TIMEOUT_SECONDS = 300;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private HotStockCounters hotStockCounters;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    private int orders;
+
+    private int threads;
+
+    private Store store;
+
+    private Client client;
+
+    @BeforeAll
+    public void setup() {
+        orders = Integer.getInteger("hot.orders", 2000);
+        threads = Integer.getInteger("hot.threads", 64);
+
+        Type type = new Type();
+        type.setId(1);
+        type.setDescription("Casa");
+        typeRepository.save(type);
+
+        store = new Store();
+        store.setId(BigInteger.valueOf(3900));
+        store.setCnpj("39000000003900");
+        storeRepository.save(store);
+
+        Product product = new Product();
+        product.setId(PRODUCT_ID);
+        product.setCode("HOT");
+        product.setPrice(BigDecimal.TEN);
+        product.setQuantity(BigInteger.valueOf(orders * 2L));
+        product.setStore(store);
+        productRepository.save(product);
+
+        client = new Client();
+        client.setName("Promoção");
+        client.setCpf("39000000039");
+        client.setEmail("promocao@benchmark");
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+        clientRepository.save(client);
+
+        Address address = new Address();
+        address.setStreet("rua");
+        address.setNumber("39");
+        address.setDistrict("Centro");
+        address.setCity("Alto Feliz");
+        address.setCep("95773000");
+        address.setState("Rio Grande do Sul");
+        address.setType(type);
+        address.setClient(client);
+        addressRepository.save(address);
+    }
+
+    @Test
+    @DisplayName("Mede pedidos por segundo de um único produto com reserva no banco e em memória.")
+    public void test_pedidosPorSegundoEmProdutoUnico() throws Exception {
+        measure("reserva-no-banco");
+
+        hotStockCounters.register(productRepository.findById(PRODUCT_ID).get());
+        try {
+            measure("estoque-em-memoria");
+        } finally {
+            hotStockCounters.unregister(PRODUCT_ID);
+        }
+
+        assertEquals(BigInteger.ZERO, productRepository.findQuantityById(PRODUCT_ID));
+    }
+
+    private void measure(String variant) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicLong errors = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>(orders);
+
+        long start = System.nanoTime();
+        for (int x = 0; x < orders; x++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    orderService.persistOrder(newOrder(), client.getEmail());
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+
+        HttpLoadDriver.report("hot-product.txt", String.format("%s threads=%d pedidos=%d erros=%d pedidos/s=%.1f",
+                variant, threads, orders, errors.get(), orders / seconds));
+        assertEquals(0, errors.get(), "Pedidos rejeitados em " + variant);
+    }
+
+    private Order newOrder() {
+        ProductOrder productOrder = new ProductOrder();
+        productOrder.setCode("HOT");
+        productOrder.setQuantity(BigInteger.ONE);
+
+        Order order = new Order();
+        order.setProducts(List.of(productOrder));
+        order.setStore(store);
+        return order;
+    }
+}
@@ -0,0 +1,138 @@
+package com.netbull.apiclient.performance;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Gerador de carga em laço fechado: cada usuário virtual envia uma requisição, espera a resposta
+ * e envia a próxima até o fim do passo.
+ */
+public class HttpLoadDriver {
+
+    private final HttpClient httpClient;
+
+    public HttpLoadDriver() {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+    }
+
+    public Step run(int concurrency, Duration duration, LongFunction<HttpRequest> requests) {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> results = new ArrayList<>();
+
+        for (int x = 0; x < concurrency; x++) {
+            results.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = requests.apply(sequence.getAndIncrement());
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        long[] all = new long[0];
+        try {
+            for (Future<long[]> result : results) {
+                long[] latencies = result.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Arrays.sort(all);
+        return new Step(concurrency, all.length, errors.get(),
+                all.length / (double) duration.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    public static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    public static void report(String file, String line) {
+        try {
+            Path path = Paths.get("target", "performance", file);
+            Files.createDirectories(path.getParent());
+            Files.write(path, (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Step {
+
+        private final int concurrency;
+
+        private final long requests;
+
+        private final long errors;
+
+        private final double throughput;
+
+        private final double p50Millis;
+
+        private final double p99Millis;
+
+        public double errorRate() {
+            return requests == 0 ? 1 : errors / (double) requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("concorrência=%d requisições=%d erros=%d rps=%.1f p50=%.1fms p99=%.1fms",
+                    concurrency, requests, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.netbull.apiclient.performance;
+
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.domain.order.OrderRepository;
+import com.netbull.apiclient.domain.order.OrderState;
+import com.netbull.apiclient.domain.store.Product;
+import com.netbull.apiclient.domain.store.Store;
+import com.netbull.apiclient.domain.store.StoreRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Publica listener.messages eventos (padrão 2000) em cada fila consumida pela aplicação e mede
+ * mensagens por segundo, atraso de ponta a ponta (da publicação ao fim do listener) e custo de banco
+ * por mensagem. O resultado é gravado em target/performance/listener-throughput.txt.
+ */
+@Import(ListenerThroughputBenchmarkTest.LagConfig.class)
+class ListenerThroughputBenchmarkTest extends AbstractEmbeddedEnvironmentTest {
+
+    private static final String PUBLISHED_AT = "x-published-nanos";
+    private static final long TIMEOUT_SECONDS = 300;
+    private static final BigInteger STORE_ID = BigInteger.valueOf(3700);
+
+    private static final ThreadLocal<Long> PUBLISHED = new ThreadLocal<>();
+    private static final Map<String, ConcurrentLinkedQueue<Long>> LAGS = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> ERRORS = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private int messages;
+
+    private List<BigInteger> orderIds = new ArrayList<>();
+
+    @BeforeAll
+    public void setup() {
+        messages = Integer.getInteger("listener.messages", 2000);
+
+        Type type = new Type();
+        type.setId(1);
+        type.setDescription("Casa");
+        typeRepository.save(type);
+
+        Store store = new Store();
+        store.setId(STORE_ID);
+        store.setCnpj("37000000003700");
+        storeRepository.save(store);
+
+        Client client = new Client();
+        client.setName("Listener");
+        client.setCpf("37000000037");
+        client.setEmail("listener@benchmark");
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+        clientRepository.save(client);
+
+        Address address = new Address();
+        address.setStreet("rua");
+        address.setNumber("37");
+        address.setDistrict("Centro");
+        address.setCity("Alto Feliz");
+        address.setCep("95773000");
+        address.setState("Rio Grande do Sul");
+        address.setType(type);
+        address.setClient(client);
+        addressRepository.save(address);
+
+        List<Order> orders = new ArrayList<>();
+        for (int x = 0; x < messages; x++) {
+            Order order = new Order();
+            order.setState(OrderState.CRIADO);
+            order.setOrderCreated(LocalDate.now());
+            order.setTotalValue(BigDecimal.TEN);
+            order.setClient(client);
+            order.setAddress(address);
+            order.setStore(store);
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders).forEach(order -> orderIds.add(order.getId()));
+    }
+
+    @Test
+    @DisplayName("Mede vazão, atraso e custo de banco por mensagem de cada listener.")
+    public void test_vazaoDosListeners() throws Exception {
+        measure("store", "store.created", "store-created", x -> store(x, "37"));
+        measure("store", "store.updated", "store-updated", x -> store(x, "38"));
+        measure("product", "product.created", "product-created", x -> product(x, BigDecimal.TEN));
+        measure("product", "product.updated", "product-updated", x -> product(x, BigDecimal.ONE));
+        measure("order-client", "order.client.updated.dispatched", "order-client-updated-dispatched", x -> {
+            Order order = new Order();
+            order.setId(orderIds.get((int) x));
+            order.setState(OrderState.ENVIADO);
+            order.setOrderDispatched(LocalDate.now());
+            return order;
+        });
+    }
+
+    private void measure(String exchange, String routingKey, String queue, LongFunction<Object> payloads)
+            throws InterruptedException {
+        ConcurrentLinkedQueue<Long> lags = LAGS.computeIfAbsent(queue, key -> new ConcurrentLinkedQueue<>());
+        AtomicLong errors = ERRORS.computeIfAbsent(queue, key -> new AtomicLong());
+
+        long start = System.nanoTime();
+        for (long x = 0; x < messages; x++) {
+            rabbitTemplate.convertAndSend(exchange, routingKey, payloads.apply(x), message -> {
+                message.getMessageProperties().setHeader(PUBLISHED_AT, System.nanoTime());
+                return message;
+            });
+        }
+
+        long deadline = start + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (lags.size() < messages && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long[] sorted = lags.stream().mapToLong(Long::longValue).sorted().toArray();
+        DistributionSummary statements = meterRegistry.find("app.sql.statements")
+                .tag("source", "listener").tag("operation", queue).summary();
+        DistributionSummary rows = meterRegistry.find("app.sql.rows")
+                .tag("source", "listener").tag("operation", queue).summary();
+        Timer dbTime = meterRegistry.find("app.sql.time")
+                .tag("source", "listener").tag("operation", queue).timer();
+
+        HttpLoadDriver.report("listener-throughput.txt", String.format("%s mensagens=%d erros=%d msg/s=%.1f " +
+                        "atraso-p50=%.1fms atraso-p99=%.1fms comandos/msg=%.2f linhas/msg=%.2f banco/msg=%.2fms",
+                queue, sorted.length, errors.get(), sorted.length / seconds,
+                HttpLoadDriver.percentile(sorted, 0.50), HttpLoadDriver.percentile(sorted, 0.99),
+                statements != null ? statements.mean() : 0, rows != null ? rows.mean() : 0,
+                dbTime != null ? dbTime.mean(TimeUnit.MILLISECONDS) : 0));
+
+        assertEquals(messages, sorted.length, "Mensagens não consumidas na fila " + queue);
+        assertEquals(0, errors.get(), "Erros no listener da fila " + queue);
+    }
+
+    private Store store(long x, String prefix) {
+        Store store = new Store();
+        store.setId(BigInteger.valueOf(370_000 + x));
+        store.setCnpj(prefix + String.format("%012d", x));
+        return store;
+    }
+
+    private Product product(long x, BigDecimal price) {
+        Store store = new Store();
+        store.setId(STORE_ID);
+
+        Product product = new Product();
+        product.setId(BigInteger.valueOf(370_000 + x));
+        product.setCode("p" + x);
+        product.setPrice(price);
+        product.setQuantity(BigInteger.valueOf(100));
+        product.setStore(store);
+        return product;
+    }
+
+    @TestConfiguration
+    static class LagConfig {
+
+        @Bean
+        public static BeanPostProcessor publishedAtPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof SimpleRabbitListenerContainerFactory) {
+                        ((SimpleRabbitListenerContainerFactory) bean).setAfterReceivePostProcessors(message -> {
+                            PUBLISHED.set((Long) message.getMessageProperties().getHeaders().get(PUBLISHED_AT));
+                            return message;
+                        });
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @Bean
+        public LagAspect lagAspect() {
+            return new LagAspect();
+        }
+    }
+
+    @Aspect
+    static class LagAspect {
+
+        @Around("@annotation(rabbitListener)")
+        public Object recordLag(ProceedingJoinPoint joinPoint, RabbitListener rabbitListener) throws Throwable {
+            String queue = Arrays.stream(rabbitListener.queues()).findFirst().orElse("");
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                ERRORS.computeIfAbsent(queue, key -> new AtomicLong()).incrementAndGet();
+                throw e;
+            } finally {
+                Long published = PUBLISHED.get();
+                PUBLISHED.remove();
+                if (published != null) {
+                    LAGS.computeIfAbsent(queue, key -> new ConcurrentLinkedQueue<>())
+                            .add(System.nanoTime() - published);
+                }
+            }
+        }
+    }
+}
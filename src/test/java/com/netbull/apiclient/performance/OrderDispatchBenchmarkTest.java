@@ -0,0 +1,195 @@
+package com.netbull.apiclient.performance;
+
+import com.netbull.apiclient.config.SqlAccounting;
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.domain.order.OrderRepository;
+import com.netbull.apiclient.domain.order.OrderState;
+import com.netbull.apiclient.domain.store.Store;
+import com.netbull.apiclient.domain.store.StoreRepository;
+import com.netbull.apiclient.listener.OrderListener;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede eventos de envio de pedido por segundo em três caminhos: carregando e salvando o pedido
+ * inteiro (como o listener fazia antes), com o UPDATE direcionado do {@link OrderListener} chamado
+ * direto e com o UPDATE direcionado consumindo do broker embarcado. O número de eventos por caminho
+ * vem de dispatch.events (padrão 2000) e o resultado é gravado em target/performance/order-dispatch.txt.
+ */
+class OrderDispatchBenchmarkTest extends AbstractEmbeddedEnvironmentTest {
+
+    private static final long TIMEOUT_SECONDS = 300;
+
+    @Autowired
+    private OrderListener orderListener;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlAccounting sqlAccounting;
+
+    private int events;
+
+    private Client client;
+
+    private Address address;
+
+    private Store store;
+
+    @BeforeAll
+    public void setup() {
+        events = Integer.getInteger("dispatch.events", 2000);
+
+        Type type = new Type();
+        type.setId(1);
+        type.setDescription("Casa");
+        typeRepository.save(type);
+
+        store = new Store();
+        store.setId(BigInteger.valueOf(3800));
+        store.setCnpj("38000000003800");
+        storeRepository.save(store);
+
+        client = new Client();
+        client.setName("Envio");
+        client.setCpf("38000000038");
+        client.setEmail("envio@benchmark");
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+        clientRepository.save(client);
+
+        address = new Address();
+        address.setStreet("rua");
+        address.setNumber("38");
+        address.setDistrict("Centro");
+        address.setCity("Alto Feliz");
+        address.setCep("95773000");
+        address.setState("Rio Grande do Sul");
+        address.setType(type);
+        address.setClient(client);
+        addressRepository.save(address);
+    }
+
+    @Test
+    @DisplayName("Mede eventos de envio por segundo com carga completa e com UPDATE direcionado.")
+    public void test_eventosDeEnvioPorSegundo() throws Exception {
+        measure("carrega-e-salva", seed(), event -> transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(event.getId()).get();
+            order.setState(event.getState());
+            order.setOrderDispatched(event.getOrderDispatched());
+            orderRepository.save(order);
+        }));
+
+        measure("update-direcionado", seed(), orderListener::executeUpdate);
+
+        List<BigInteger> ids = seed();
+        long start = System.nanoTime();
+        ids.forEach(id -> rabbitTemplate.convertAndSend("order-client", "order.client.updated.dispatched",
+                event(id)));
+
+        long deadline = start + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        long dispatched = 0;
+        while (dispatched < ids.size() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            dispatched = jdbcTemplate.queryForObject("select count(*) from order_client " +
+                    "where state = 'ENVIADO' and id between ? and ?", Long.class, ids.get(0), ids.get(ids.size() - 1));
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        HttpLoadDriver.report("order-dispatch.txt", String.format("via-broker eventos=%d eventos/s=%.1f",
+                dispatched, dispatched / seconds));
+        assertEquals(ids.size(), dispatched, "Eventos de envio não aplicados pelo listener");
+    }
+
+    private void measure(String variant, List<BigInteger> ids, Consumer<Order> dispatch) {
+        long statements = 0;
+        long rows = 0;
+
+        long start = System.nanoTime();
+        for (BigInteger id : ids) {
+            SqlAccounting.begin();
+            dispatch.accept(event(id));
+            statements += SqlAccounting.current().getStatements();
+            rows += SqlAccounting.current().getRows();
+            sqlAccounting.end("benchmark", variant);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        HttpLoadDriver.report("order-dispatch.txt", String.format("%s eventos=%d eventos/s=%.1f " +
+                        "comandos/evento=%.2f linhas/evento=%.2f", variant, ids.size(), ids.size() / seconds,
+                (double) statements / ids.size(), (double) rows / ids.size()));
+
+        assertEquals(ids.size(), (long) jdbcTemplate.queryForObject("select count(*) from order_client " +
+                        "where state = 'ENVIADO' and id between ? and ?", Long.class,
+                ids.get(0), ids.get(ids.size() - 1)));
+    }
+
+    private List<BigInteger> seed() {
+        List<Order> orders = new ArrayList<>();
+        for (int x = 0; x < events; x++) {
+            Order order = new Order();
+            order.setState(OrderState.CRIADO);
+            order.setOrderCreated(LocalDate.now());
+            order.setTotalValue(BigDecimal.TEN);
+            order.setClient(client);
+            order.setAddress(address);
+            order.setStore(store);
+            orders.add(order);
+        }
+
+        List<BigInteger> ids = new ArrayList<>();
+        orderRepository.saveAll(orders).forEach(order -> ids.add(order.getId()));
+        return ids;
+    }
+
+    private Order event(BigInteger id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setState(OrderState.ENVIADO);
+        order.setOrderDispatched(LocalDate.now());
+        return order;
+    }
+}
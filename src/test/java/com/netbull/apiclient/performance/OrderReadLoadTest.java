@@ -0,0 +1,166 @@
+package com.netbull.apiclient.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.domain.order.*;
+import com.netbull.apiclient.domain.store.Store;
+import com.netbull.apiclient.domain.store.StoreRepository;
+import com.netbull.apiclient.service.ClientService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a listagem de pedidos bloqueante (JPA) com a reativa (R2DBC) sob concorrência alta.
+ * O resultado é gravado em target/performance/order-read.txt.
+ */
+@Tag("performance")
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource("classpath:application-test.properties")
+class OrderReadLoadTest {
+
+    private static final String EMAIL = "leitura@versnelt";
+    private static final String PASSWORD = "abc";
+    private static final int ORDERS = 50;
+    private static final int[] CONCURRENCY = {64, 256, 1024};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private String bearerToken;
+
+    @BeforeAll
+    public void setup() throws Exception {
+        if (clientRepository.findByEmail(EMAIL).isEmpty()) {
+            Client client = new Client();
+            client.setName("Leitura");
+            client.setCpf("33333333332");
+            client.setEmail(EMAIL);
+            client.setBirthday(LocalDate.now().minusYears(20));
+            client.setPassword(PASSWORD);
+            clientService.persistClient(client);
+
+            Address address = new Address();
+            address.setStreet("rua");
+            address.setNumber("32");
+            address.setDistrict("Centro");
+            address.setCity("Alto Feliz");
+            address.setCep("95773000");
+            address.setState("Rio Grande do Sul");
+            address.setType(typeRepository.findById(1).get());
+            address.setClient(client);
+            addressRepository.save(address);
+
+            Store store = new Store();
+            store.setId(BigInteger.valueOf(3200));
+            store.setCnpj("32000000003200");
+            storeRepository.save(store);
+
+            for (int x = 0; x < ORDERS; x++) {
+                Order order = new Order();
+                order.setState(OrderState.CRIADO);
+                order.setOrderCreated(LocalDate.now());
+                order.setTotalValue(BigDecimal.TEN);
+                order.setClient(client);
+                order.setAddress(address);
+                order.setStore(store);
+
+                ProductOrder productOrder = new ProductOrder();
+                productOrder.setCode("3200");
+                productOrder.setPrice(BigDecimal.TEN);
+                productOrder.setQuantity(BigInteger.ONE);
+                productOrder.setOrder(order);
+
+                order.setProducts(List.of(productOrder));
+                orderRepository.save(order);
+                productOrderRepository.saveAll(order.getProducts());
+            }
+        }
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/authenticate"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"username\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        bearerToken = "Bearer " + mapper.readTree(response.body()).get("jwtToken").asText();
+    }
+
+    @Test
+    @DisplayName("Compara vazão e latência da listagem bloqueante e da reativa.")
+    public void test_listagemBloqueanteVersusReativa() {
+        HttpLoadDriver driver = new HttpLoadDriver();
+        Duration stepDuration = Duration.ofSeconds(Long.getLong("load.step.seconds", 10));
+        String base = "http://localhost:" + port + "/v1/clients/orders";
+
+        driver.run(16, Duration.ofSeconds(3), sequence -> request(base));
+        driver.run(16, Duration.ofSeconds(3), sequence -> request(base + "/reactive"));
+
+        for (int concurrency : CONCURRENCY) {
+            HttpLoadDriver.Step blocking = driver.run(concurrency, stepDuration, sequence -> request(base));
+            HttpLoadDriver.report("order-read.txt", "bloqueante " + blocking);
+
+            HttpLoadDriver.Step reactive = driver.run(concurrency, stepDuration,
+                    sequence -> request(base + "/reactive"));
+            HttpLoadDriver.report("order-read.txt", "reativa " + reactive);
+
+            assertTrue(reactive.getRequests() > 0, "Nenhuma requisição reativa concluída");
+        }
+    }
+
+    private HttpRequest request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri + "?page=0&size=20"))
+                .header("Accept", "application/json")
+                .header("Authorization", bearerToken)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.netbull.apiclient.performance;
+
+class PlatformThreadLoadTest extends AbstractThreadModeLoadTest {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
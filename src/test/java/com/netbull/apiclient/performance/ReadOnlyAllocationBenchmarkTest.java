@@ -0,0 +1,91 @@
+package com.netbull.apiclient.performance;
+
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.service.ClientService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede a memória alocada por requisição na listagem paginada de clientes, chamando
+ * {@link ClientService#getAllClients} dentro de uma transação de leitura e escrita (snapshots e
+ * verificação de alterações no commit) e direto, na transação somente leitura do serviço. O número
+ * de chamadas por modo vem de readonly.requests (padrão 2000) e o resultado é gravado em
+ * target/performance/read-only.txt.
+ */
+class ReadOnlyAllocationBenchmarkTest extends AbstractEmbeddedEnvironmentTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private int requests;
+
+    private Pageable pageable;
+
+    @BeforeAll
+    public void setup() {
+        requests = Integer.getInteger("readonly.requests", 2000);
+        pageable = PageRequest.of(0, PAGE_SIZE);
+
+        List<Client> clients = new ArrayList<>(PAGE_SIZE);
+        for (int x = 0; x < PAGE_SIZE; x++) {
+            Client client = new Client();
+            client.setName("Leitura " + x);
+            client.setCpf(String.format("370000%05d", x));
+            client.setEmail("leitura" + x + "@benchmark");
+            client.setBirthday(LocalDate.now().minusYears(20));
+            client.setPassword("abc");
+            clients.add(client);
+        }
+        clientRepository.saveAll(clients);
+    }
+
+    @Test
+    @DisplayName("Mede a memória alocada por requisição com transação de leitura e escrita e somente leitura.")
+    public void test_memoriaAlocadaPorRequisicao() {
+        measure("leitura-e-escrita", () -> transactionTemplate.execute(status -> clientService.getAllClients(pageable)));
+        measure("somente-leitura", () -> clientService.getAllClients(pageable));
+    }
+
+    private void measure(String variant, Supplier<Page<Client>> request) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int x = 0; x < requests / 4; x++) {
+            request.get();
+        }
+
+        long start = System.nanoTime();
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        for (int x = 0; x < requests; x++) {
+            assertEquals(PAGE_SIZE, request.get().getNumberOfElements());
+        }
+        allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        HttpLoadDriver.report("read-only.txt", String.format("%s requisicoes=%d bytes/requisicao=%d requisicoes/s=%.1f",
+                variant, requests, allocated / requests, requests / seconds));
+    }
+}
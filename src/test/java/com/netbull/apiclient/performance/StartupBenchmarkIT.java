@@ -0,0 +1,139 @@
+package com.netbull.apiclient.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede o tempo até a aplicação ficar pronta e a memória residente (RSS) logo após a subida, sem e
+ * com AOT e AppCDS. Roda no perfil Maven fast-start, depois do jar e do arquivo AppCDS serem gerados.
+ * O resultado é gravado em target/performance/startup.txt; startup.max.millis, se informado, falha o
+ * build quando a mediana com AOT e AppCDS passar do limite.
+ */
+@Tag("performance")
+@EnabledIfSystemProperty(named = "startup.jar", matches = ".+")
+class StartupBenchmarkIT {
+
+    private static final String READY = "Started ApiClientApplication";
+    private static final long TIMEOUT_SECONDS = 180;
+
+    @Test
+    @DisplayName("Mede tempo de subida e memória residente com e sem AOT e AppCDS.")
+    public void test_tempoDeSubidaEMemoria() throws Exception {
+        String jar = System.getProperty("startup.jar");
+        Path archive = Paths.get(System.getProperty("startup.archive", "target/api-client.jsa"));
+        int runs = Integer.getInteger("startup.runs", 5);
+
+        measure("padrão", jar, runs);
+        measure("aot", jar, runs, "-DspringAot=true");
+
+        if (Files.exists(archive)) {
+            long[] fastStart = measure("aot+cds", jar, runs,
+                    "-DspringAot=true", "-XX:SharedArchiveFile=" + archive, "-Xshare:auto");
+
+            Long maxMillis = Long.getLong("startup.max.millis");
+            if (maxMillis != null) {
+                assertTrue(median(fastStart) <= maxMillis, "Subida com AOT e AppCDS levou "
+                        + median(fastStart) + "ms, limite de " + maxMillis + "ms");
+            }
+        }
+    }
+
+    private long[] measure(String variant, String jar, int runs, String... jvmOptions) throws Exception {
+        long[] readyMillis = new long[runs];
+        long[] rssKb = new long[runs];
+
+        for (int x = 0; x < runs; x++) {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(Arrays.asList(jvmOptions));
+            command.add("-Dspring.profiles.active=training");
+            command.add("-jar");
+            command.add(jar);
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try {
+                waitUntilReady(process);
+                readyMillis[x] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                rssKb[x] = residentSetKb(process.pid());
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+
+        HttpLoadDriver.report("startup.txt", String.format("%s execuções=%d pronto-mediana=%dms " +
+                        "pronto-máximo=%dms rss-mediana=%dMB", variant, runs, median(readyMillis),
+                Arrays.stream(readyMillis).max().orElse(0), median(rssKb) / 1024));
+        return readyMillis;
+    }
+
+    private void waitUntilReady(Process process) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.contains(READY)) {
+                drain(reader);
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        throw new IllegalStateException("A aplicação não ficou pronta em " + TIMEOUT_SECONDS + "s");
+    }
+
+    private void drain(BufferedReader reader) {
+        Thread drainer = new Thread(() -> {
+            try {
+                while (reader.readLine() != null) {
+                    // descarta a saída para o processo não bloquear
+                }
+            } catch (IOException ignored) {
+                // processo encerrado
+            }
+        });
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    private long residentSetKb(long pid) throws IOException {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.replaceAll("\\D", ""))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(-1);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,18 @@
+package com.netbull.apiclient.performance;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.test.context.TestPropertySource;
+
+@EnabledIf("isVirtualThreadSupported")
+@TestPropertySource(properties = "threads.virtual.enabled=true")
+class VirtualThreadLoadTest extends AbstractThreadModeLoadTest {
+
+    static boolean isVirtualThreadSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
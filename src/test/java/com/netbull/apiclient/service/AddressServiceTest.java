@@ -1,5 +1,6 @@
 package com.netbull.apiclient.service;
 
+import com.netbull.apiclient.domain.BulkResult;
 import com.netbull.apiclient.domain.address.Address;
 import com.netbull.apiclient.domain.address.AddressRepository;
 import com.netbull.apiclient.domain.address.Type;
@@ -14,6 +15,8 @@ import org.springframework.security.core.userdetails.User;
 import javax.validation.*;
 import javax.ws.rs.NotFoundException;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +28,7 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
@@ -175,6 +179,74 @@ public class AddressServiceTest {
         then(addressRepository).should(times(1)).save(any());
     }
 
+    @Test
+    @DisplayName("Testa cadastro de endereços em lote com itens válidos e inválidos.")
+    public void testa_cadastroEmLote_retornaResultadoPorItem() {
+        Type type = new Type();
+        type.setId(1);
+
+        Type unknownType = new Type();
+        unknownType.setId(2);
+
+        Address valid = newAddress(type);
+        Address invalid = newAddress(type);
+        invalid.setCep("abc");
+        Address notFound = newAddress(unknownType);
+
+        when(clientService.getClientByEmail("email")).thenReturn(new Client());
+        when(typeRepository.findAll()).thenReturn(List.of(type));
+
+        List<BulkResult> results = addressService.persistAddresses(
+                Arrays.asList(valid, invalid, notFound, null), "email");
+
+        assertEquals(4, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(400, results.get(1).getStatus());
+        assertEquals("CEP inválido.", results.get(1).getMessage());
+        assertEquals(404, results.get(2).getStatus());
+        assertEquals(400, results.get(3).getStatus());
+        assertEquals("O endereço não pode ser nulo.", results.get(3).getMessage());
+
+        then(clientService).should(times(1)).getClientByEmail("email");
+        then(typeRepository).should(times(1)).findAll();
+        then(typeRepository).should(never()).existsById(any());
+        then(addressRepository).should(times(1)).saveAll(List.of(valid));
+        then(addressRepository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Testa cadastro de endereços em lote vazio ou acima do limite.")
+    public void testa_cadastroEmLoteVazioOuAcimaDoLimite_lancaException() {
+        var empty = assertThrows(IllegalArgumentException.class,
+                () -> addressService.persistAddresses(List.of(), "email"));
+        assertEquals("Nenhum endereço foi enviado.", empty.getMessage());
+
+        List<Address> addresses = new ArrayList<>();
+        for (int x = 0; x <= Address.BULK_MAX_SIZE; x++) {
+            addresses.add(new Address());
+        }
+
+        var tooMany = assertThrows(IllegalArgumentException.class,
+                () -> addressService.persistAddresses(addresses, "email"));
+        assertEquals("São permitidos no máximo " + Address.BULK_MAX_SIZE + " endereços por envio.",
+                tooMany.getMessage());
+
+        then(clientService).should(never()).getClientByEmail(any());
+        then(addressRepository).should(never()).saveAll(any());
+    }
+
+    private Address newAddress(Type type) {
+        Address address = new Address();
+        address.setStreet("rua");
+        address.setNumber("123456");
+        address.setDistrict("Centro");
+        address.setCity("Alto Feliz");
+        address.setCep("95773000");
+        address.setState("Rio Grande do Sul");
+        address.setType(type);
+        return address;
+    }
+
     @Test
     @DisplayName("Testa busca de endereço pelo email do cliente quando id não existe.")
     public void testa_buscaDeEndereçoPeloIdClienteNaoExiste_lancaException() {
@@ -0,0 +1,180 @@
+package com.netbull.apiclient.service;
+
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientImportReport;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.utility.StringUtils;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ClientImportServiceTest {
+
+    private ClientImportService clientImportService;
+
+    private Validator validation;
+
+    private ClientRepository clientRepository;
+
+    private StringUtils stringUtils;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    public void setupBeforAll() {
+        this.validation = Validation.buildDefaultValidatorFactory().getValidator();
+        this.executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterAll
+    public void tearDown() {
+        this.executor.shutdown();
+    }
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.clientRepository = Mockito.mock(ClientRepository.class);
+        this.stringUtils = Mockito.mock(StringUtils.class);
+        this.clientImportService = new ClientImportService(validation, clientRepository, stringUtils, executor,
+                Set.of("importador@com"));
+    }
+
+    @Test
+    @DisplayName("Testa importação com registros válidos, inválidos e repetidos.")
+    public void testaImportacao_retornaResultadoPorRegistro() {
+        Client valid = newClient("11111111111", "a@com");
+        Client invalid = newClient("abc", "b@com");
+        Client existingEmail = newClient("22222222222", "existente@com");
+        Client existingCpf = newClient("33333333333", "c@com");
+        Client repeatedEmail = newClient("44444444444", "a@com");
+
+        when(clientRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("existente@com"));
+        when(clientRepository.findExistingCpfs(anyCollection())).thenReturn(Set.of("33333333333"));
+        when(stringUtils.encryptPassword(anyString())).thenReturn("hash");
+
+        ClientImportReport report = clientImportService.importClients(
+                Arrays.asList(valid, invalid, existingEmail, existingCpf, repeatedEmail, null));
+
+        assertEquals(6, report.getReceived());
+        assertEquals(1, report.getCreated());
+        assertEquals(5, report.getRejected());
+        assertEquals(6, report.getResults().size());
+
+        assertEquals(201, report.getResults().get(0).getStatus());
+        assertEquals("CPF inválido.", report.getResults().get(1).getMessage());
+        assertEquals("Email já utilizado.", report.getResults().get(2).getMessage());
+        assertEquals("CPF já cadastrado.", report.getResults().get(3).getMessage());
+        assertEquals("Email já utilizado.", report.getResults().get(4).getMessage());
+        assertEquals("O cliente não pode ser nulo.", report.getResults().get(5).getMessage());
+
+        assertEquals("hash", valid.getPassword());
+        assertEquals("abc", existingEmail.getPassword());
+
+        then(clientRepository).should(times(1)).findExistingEmails(anyCollection());
+        then(clientRepository).should(times(1)).findExistingCpfs(anyCollection());
+        then(clientRepository).should(never()).findByEmail(any());
+        then(clientRepository).should(never()).findByCpf(any());
+        then(stringUtils).should(times(1)).encryptPassword(anyString());
+        then(clientRepository).should(times(1)).saveAll(List.of(valid));
+    }
+
+    @Test
+    @DisplayName("Testa importação sem registros válidos não consulta o banco.")
+    public void testaImportacaoSemRegistrosValidos_naoConsultaBanco() {
+        ClientImportReport report = clientImportService.importClients(List.of(new Client()));
+
+        assertEquals(0, report.getCreated());
+        assertEquals(400, report.getResults().get(0).getStatus());
+
+        then(clientRepository).should(never()).findExistingEmails(anyCollection());
+        then(clientRepository).should(never()).findExistingCpfs(anyCollection());
+        then(stringUtils).should(never()).encryptPassword(anyString());
+    }
+
+    @Test
+    @DisplayName("Testa importação vazia ou acima do limite.")
+    public void testaImportacaoVaziaOuAcimaDoLimite_lancaException() {
+        var empty = assertThrows(IllegalArgumentException.class,
+                () -> clientImportService.importClients(List.of()));
+        assertEquals("Nenhum cliente foi enviado.", empty.getMessage());
+
+        List<Client> clients = new ArrayList<>();
+        for (int x = 0; x <= Client.BULK_MAX_SIZE; x++) {
+            clients.add(new Client());
+        }
+
+        var tooMany = assertThrows(IllegalArgumentException.class,
+                () -> clientImportService.importClients(clients));
+        assertEquals("São permitidos no máximo " + Client.BULK_MAX_SIZE + " clientes por envio.",
+                tooMany.getMessage());
+
+        then(clientRepository).should(never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Testa gravação um a um quando um cadastro concorrente viola a unicidade no saveAll.")
+    public void testaImportacaoComCadastroConcorrente_gravaUmAUm() {
+        Client first = newClient("11111111111", "a@com");
+        Client concurrent = newClient("22222222222", "b@com");
+
+        when(clientRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        when(clientRepository.findExistingCpfs(anyCollection())).thenReturn(Set.of());
+        when(stringUtils.encryptPassword(anyString())).thenReturn("hash");
+        when(clientRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("cliente_email"));
+        when(clientRepository.save(any())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == concurrent) {
+                throw new DataIntegrityViolationException("cliente_email");
+            }
+            return invocation.getArgument(0);
+        });
+
+        ClientImportReport report = clientImportService.importClients(List.of(first, concurrent));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getRejected());
+        assertEquals(201, report.getResults().get(0).getStatus());
+        assertEquals(400, report.getResults().get(1).getStatus());
+        assertEquals("Email ou CPF já cadastrado.", report.getResults().get(1).getMessage());
+
+        then(clientRepository).should(times(1)).save(first);
+        then(clientRepository).should(times(1)).save(concurrent);
+    }
+
+    @Test
+    @DisplayName("Testa que só os usuários configurados podem importar.")
+    public void testaPermissaoDeImportacao() {
+        assertTrue(clientImportService.isAllowed("importador@com"));
+        assertFalse(clientImportService.isAllowed("a@com"));
+        assertFalse(clientImportService.isAllowed(null));
+    }
+
+    private Client newClient(String cpf, String email) {
+        Client client = new Client();
+        client.setName("João Silva");
+        client.setCpf(cpf);
+        client.setEmail(email);
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+        return client;
+    }
+}
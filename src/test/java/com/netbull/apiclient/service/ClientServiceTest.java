@@ -274,6 +274,20 @@ public class ClientServiceTest {
         then(clientRepository).should(times(2)).findById(any());
     }
 
+    @Test
+    @DisplayName("Testa a busca da versão do cliente quando não encontra.")
+    public void testa_buscaVersaoDoClienteQuandoNaoEncontra() {
+        assertNotNull(clientService);
+
+        when(clientRepository.findVersionById(any())).thenReturn(Optional.empty());
+
+        var asserThrows = assertThrows(NotFoundException.class,
+                () -> clientService.getClientVersionById(BigInteger.ONE));
+
+        assertEquals("Cliente não encontrado.", asserThrows.getMessage());
+        then(clientRepository).should(times(0)).findById(any());
+    }
+
     @Test
     @DisplayName("Testa a busca por email quando encontra e não encontra.")
     public void testa_buscaClientePorEmail() {
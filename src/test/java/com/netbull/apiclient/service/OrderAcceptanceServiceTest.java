@@ -0,0 +1,205 @@
+package com.netbull.apiclient.service;
+
+import com.netbull.apiclient.domain.order.*;
+import com.netbull.apiclient.domain.store.Store;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.ws.rs.NotFoundException;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OrderAcceptanceServiceTest {
+
+    private OrderAcceptanceService orderAcceptanceService;
+
+    private OrderService orderService;
+
+    private OrderRequestRepository orderRequestRepository;
+
+    private RabbitTemplate rabbitTemplate;
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.orderService = Mockito.mock(OrderService.class);
+        this.orderRequestRepository = Mockito.mock(OrderRequestRepository.class);
+        this.rabbitTemplate = Mockito.mock(RabbitTemplate.class);
+        this.orderAcceptanceService = new OrderAcceptanceService(orderService, orderRequestRepository,
+                rabbitTemplate, new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Testa aceite do pedido, gravando o andamento e enfileirando o pedido.")
+    public void test_aceitePedido_gravaPendenteEEnfileira() {
+        Order order = newOrder();
+        when(orderRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderRequest request = orderAcceptanceService.acceptOrder(order, "a@A");
+
+        assertEquals(OrderRequestState.PENDENTE, request.getState());
+        assertNotNull(request.getReference());
+        then(orderService).should(times(1)).normalizeProducts(order.getProducts());
+        then(orderService).should(never()).persistOrder(any(), any());
+        then(rabbitTemplate).should(times(1)).convertAndSend(eq("order-client"), eq("order.client.accepted"),
+                argThat((AcceptedOrder accepted) -> accepted.getReference().equals(request.getReference())
+                        && accepted.getEmail().equals("a@A") && accepted.getOrder() == order));
+    }
+
+    @Test
+    @DisplayName("Testa aceite do pedido sem produtos ou sem loja.")
+    public void test_aceitePedidoSemProdutosOuLoja_lancaException() {
+        Order order = new Order();
+
+        var withoutProducts = assertThrows(IllegalArgumentException.class,
+                () -> orderAcceptanceService.acceptOrder(order, "a@A"));
+        assertEquals("Os produtos não podem ser nulos.", withoutProducts.getMessage());
+
+        order.setProducts(newOrder().getProducts());
+        var withoutStore = assertThrows(IllegalArgumentException.class,
+                () -> orderAcceptanceService.acceptOrder(order, "a@A"));
+        assertEquals("A loja não pode ser nula.", withoutStore.getMessage());
+
+        then(orderRequestRepository).should(never()).save(any());
+        then(rabbitTemplate).should(never()).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Testa aceite do pedido quando o broker está indisponível.")
+    public void test_aceitePedidoComBrokerIndisponivel_rejeitaAndamento() {
+        Order order = newOrder();
+        OrderRequest pending = OrderRequest.pending("a@A");
+        when(orderRequestRepository.save(any())).thenReturn(pending);
+        when(orderRequestRepository.findById(pending.getReference())).thenReturn(Optional.of(pending));
+        doThrow(new AmqpException("indisponível")).when(rabbitTemplate)
+                .convertAndSend(anyString(), anyString(), any(Object.class));
+
+        assertThrows(AmqpException.class, () -> orderAcceptanceService.acceptOrder(order, "a@A"));
+
+        assertEquals(OrderRequestState.REJEITADO, pending.getState());
+    }
+
+    @Test
+    @DisplayName("Testa conclusão do pedido aceito.")
+    public void test_conclusaoPedidoAceito_marcaCriado() {
+        Order order = newOrder();
+        OrderRequest pending = OrderRequest.pending("a@A");
+        when(orderRequestRepository.updateState(eq(pending.getReference()), eq(OrderRequestState.PENDENTE),
+                eq(OrderRequestState.PROCESSANDO), any())).thenReturn(1);
+        when(orderRequestRepository.findById(pending.getReference())).thenReturn(Optional.of(pending));
+        doAnswer(invocation -> {
+            order.setId(BigInteger.TEN);
+            return null;
+        }).when(orderService).persistOrder(order, "a@A");
+
+        orderAcceptanceService.completeOrder(new AcceptedOrder(pending.getReference(), "a@A", order));
+
+        assertEquals(OrderRequestState.CRIADO, pending.getState());
+        assertEquals(BigInteger.TEN, pending.getOrderId());
+        then(orderRequestRepository).should(times(1)).save(pending);
+    }
+
+    @Test
+    @DisplayName("Testa conclusão do pedido aceito quando a criação falha na validação.")
+    public void test_conclusaoPedidoAceitoInvalido_marcaRejeitado() {
+        Order order = newOrder();
+        OrderRequest pending = OrderRequest.pending("a@A");
+        when(orderRequestRepository.updateState(eq(pending.getReference()), eq(OrderRequestState.PENDENTE),
+                eq(OrderRequestState.PROCESSANDO), any())).thenReturn(1);
+        when(orderRequestRepository.findById(pending.getReference())).thenReturn(Optional.of(pending));
+        doThrow(new NotFoundException("Produto não encontrado.")).when(orderService).persistOrder(order, "a@A");
+
+        orderAcceptanceService.completeOrder(new AcceptedOrder(pending.getReference(), "a@A", order));
+
+        assertEquals(OrderRequestState.REJEITADO, pending.getState());
+        assertEquals("Produto não encontrado.", pending.getMessage());
+    }
+
+    @Test
+    @DisplayName("Testa conclusão do pedido aceito com falha transitória, devolvendo o andamento para pendente.")
+    public void test_conclusaoPedidoAceitoComFalhaTransitoria_voltaParaPendente() {
+        Order order = newOrder();
+        String reference = OrderRequest.pending("a@A").getReference();
+        when(orderRequestRepository.updateState(eq(reference), any(), any(), any())).thenReturn(1);
+        doThrow(new ConcurrencyFailureException("A reserva de estoque expirou, tente novamente."))
+                .when(orderService).persistOrder(order, "a@A");
+
+        assertThrows(ConcurrencyFailureException.class, () -> orderAcceptanceService.completeOrder(
+                new AcceptedOrder(reference, "a@A", order)));
+
+        then(orderRequestRepository).should(times(1)).updateState(eq(reference),
+                eq(OrderRequestState.PROCESSANDO), eq(OrderRequestState.PENDENTE), any());
+        then(orderRequestRepository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Testa reentrega de um pedido aceito já processado ou em processamento.")
+    public void test_reentregaPedidoAceitoJaProcessado_ignora() {
+        String reference = OrderRequest.pending("a@A").getReference();
+
+        orderAcceptanceService.completeOrder(new AcceptedOrder(reference, "a@A", newOrder()));
+
+        then(orderRequestRepository).should(times(1)).updateState(eq(reference),
+                eq(OrderRequestState.PENDENTE), eq(OrderRequestState.PROCESSANDO), any());
+        then(orderService).should(never()).persistOrder(any(), any());
+        then(orderRequestRepository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Testa rejeição dos pedidos aceitos que não foram concluídos no prazo.")
+    public void test_varreduraPedidosSemConclusao_rejeita() {
+        Instant before = Instant.now().minus(Duration.ofMinutes(10));
+
+        orderAcceptanceService.rejectStale();
+
+        then(orderRequestRepository).should(times(1)).updateStale(
+                eq(List.of(OrderRequestState.PENDENTE, OrderRequestState.PROCESSANDO)),
+                argThat(limit -> !limit.isBefore(before) && limit.isBefore(Instant.now().minus(Duration.ofMinutes(9)))),
+                eq(OrderRequestState.REJEITADO), eq("O pedido não pôde ser concluído, tente novamente."), any());
+    }
+
+    @Test
+    @DisplayName("Testa consulta do andamento por outro cliente.")
+    public void test_consultaAndamentoDeOutroCliente_lancaException() {
+        OrderRequest pending = OrderRequest.pending("a@A");
+        when(orderRequestRepository.findById(pending.getReference())).thenReturn(Optional.of(pending));
+
+        assertEquals(pending, orderAcceptanceService.getOrderRequest(pending.getReference(), "a@A"));
+
+        var assertThrows = assertThrows(NotFoundException.class,
+                () -> orderAcceptanceService.getOrderRequest(pending.getReference(), "b@B"));
+        assertEquals("Nenhum pedido foi encontrado com a referência: " + pending.getReference() + ".",
+                assertThrows.getMessage());
+    }
+
+    private Order newOrder() {
+        ProductOrder productOrder = new ProductOrder();
+        productOrder.setCode("1");
+        productOrder.setQuantity(BigInteger.ONE);
+
+        Store store = new Store();
+        store.setId(BigInteger.ONE);
+
+        Order order = new Order();
+        order.setProducts(List.of(productOrder));
+        order.setStore(store);
+        return order;
+    }
+}
@@ -0,0 +1,128 @@
+package com.netbull.apiclient.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.order.Order;
+import com.netbull.apiclient.domain.order.OrderRepository;
+import com.netbull.apiclient.domain.order.OrderState;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.persistence.EntityManager;
+import javax.ws.rs.NotFoundException;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderExportServiceTest {
+
+    private OrderExportService orderExportService;
+
+    private OrderRepository orderRepository;
+
+    private ClientService clientService;
+
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    public void setupBeforAll() {
+        this.objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .build();
+    }
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.orderRepository = Mockito.mock(OrderRepository.class);
+        this.clientService = Mockito.mock(ClientService.class);
+        this.entityManager = Mockito.mock(EntityManager.class);
+        this.orderExportService = new OrderExportService(orderRepository, clientService, entityManager,
+                objectMapper, Mockito.mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("Testa exportação quando o cliente não existe.")
+    public void test_exportacaoQuandoClienteNaoExiste_lancaException() {
+        when(clientService.getClientByEmail(any())).thenThrow(new NotFoundException("Cliente não encontrado."));
+
+        var assertThrows = assertThrows(NotFoundException.class,
+                () -> orderExportService.exportOrdersByClient("a@A"));
+
+        assertEquals("Cliente não encontrado.", assertThrows.getMessage());
+        then(orderRepository).should(times(0)).streamOrdersByClient(any());
+    }
+
+    @Test
+    @DisplayName("Testa exportação dos pedidos, um por linha, em blocos.")
+    public void test_exportacaoDosPedidos_umPorLinha() throws Exception {
+        Client client = new Client();
+        client.setEmail("a@A");
+        client.setName("cris");
+
+        int total = Order.EXPORT_FETCH_SIZE + 5;
+        List<Order> orders = new ArrayList<>();
+        IntStream.range(0, total).forEach(x -> {
+            Order order = new Order();
+            order.setId(BigInteger.valueOf(x));
+            order.setState(OrderState.CRIADO);
+            order.setClient(client);
+            orders.add(order);
+        });
+
+        when(clientService.getClientByEmail(any())).thenReturn(client);
+        when(orderRepository.streamOrdersByClient(client)).thenReturn(orders.stream());
+
+        StreamingResponseBody body = orderExportService.exportOrdersByClient(client.getEmail());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(total, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(0, first.get("id").asInt());
+        assertEquals("CRIADO", first.get("state").asText());
+
+        then(orderRepository).should(times(1)).fetchProductsByIds(
+                orders.subList(0, Order.EXPORT_FETCH_SIZE).stream().map(Order::getId).collect(Collectors.toList()));
+        then(orderRepository).should(times(2)).fetchProductsByIds(any());
+        then(entityManager).should(times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Testa exportação quando o cliente não possui pedidos.")
+    public void test_exportacaoSemPedidos_retornaVazio() throws Exception {
+        Client client = new Client();
+        client.setEmail("a@A");
+
+        when(clientService.getClientByEmail(any())).thenReturn(client);
+        when(orderRepository.streamOrdersByClient(client)).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        orderExportService.exportOrdersByClient(client.getEmail()).writeTo(outputStream);
+
+        assertEquals(0, outputStream.size());
+    }
+}
@@ -0,0 +1,194 @@
+package com.netbull.apiclient.service;
+
+import com.netbull.apiclient.domain.address.Address;
+import com.netbull.apiclient.domain.address.AddressRepository;
+import com.netbull.apiclient.domain.address.Type;
+import com.netbull.apiclient.domain.address.TypeRepository;
+import com.netbull.apiclient.domain.client.Client;
+import com.netbull.apiclient.domain.client.ClientRepository;
+import com.netbull.apiclient.domain.order.*;
+import com.netbull.apiclient.domain.store.Product;
+import com.netbull.apiclient.domain.store.ProductRepository;
+import com.netbull.apiclient.domain.store.Store;
+import com.netbull.apiclient.domain.store.StoreRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource("classpath:application-test.properties")
+class OrderFetchPlanTest {
+
+    private static final String EMAIL = "fetchplan@teste";
+    private static final int ORDERS = 25;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private BigInteger lastOrderId;
+
+    @BeforeAll
+    public void setup() {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+
+        Store store = new Store();
+        store.setId(BigInteger.valueOf(26));
+        store.setCnpj("26262626262626");
+        storeRepository.save(store);
+
+        Product product1 = new Product();
+        product1.setId(BigInteger.valueOf(2601));
+        product1.setCode("2601");
+        product1.setPrice(BigDecimal.TEN);
+        product1.setQuantity(BigInteger.valueOf(1000));
+        product1.setStore(store);
+        productRepository.save(product1);
+
+        Product product2 = new Product();
+        product2.setId(BigInteger.valueOf(2602));
+        product2.setCode("2602");
+        product2.setPrice(BigDecimal.ONE);
+        product2.setQuantity(BigInteger.valueOf(1000));
+        product2.setStore(store);
+        productRepository.save(product2);
+
+        Client client = new Client();
+        client.setName("Fetch Plan");
+        client.setCpf("26000000026");
+        client.setEmail(EMAIL);
+        client.setBirthday(LocalDate.now().minusYears(20));
+        client.setPassword("abc");
+        clientRepository.save(client);
+
+        Type type = new Type();
+        type.setId(Integer.valueOf(1));
+        type.setDescription("Trabalho");
+        typeRepository.save(type);
+
+        Address address = new Address();
+        address.setStreet("rua");
+        address.setNumber("26");
+        address.setDistrict("Centro");
+        address.setCity("Alto Feliz");
+        address.setCep("95773000");
+        address.setState("Rio Grande do Sul");
+        address.setType(type);
+        address.setClient(client);
+        addressRepository.save(address);
+
+        for (int x = 0; x < ORDERS; x++) {
+            Order order = new Order();
+            order.setState(OrderState.CRIADO);
+            order.setOrderCreated(LocalDate.now());
+            order.setTotalValue(BigDecimal.valueOf(11));
+            order.setClient(client);
+            order.setAddress(address);
+            order.setStore(store);
+
+            ProductOrder productOrder1 = new ProductOrder();
+            productOrder1.setCode(product1.getCode());
+            productOrder1.setPrice(product1.getPrice());
+            productOrder1.setQuantity(BigInteger.ONE);
+            productOrder1.setOrder(order);
+
+            ProductOrder productOrder2 = new ProductOrder();
+            productOrder2.setCode(product2.getCode());
+            productOrder2.setPrice(product2.getPrice());
+            productOrder2.setQuantity(BigInteger.ONE);
+            productOrder2.setOrder(order);
+
+            order.setProducts(List.of(productOrder1, productOrder2));
+            orderRepository.save(order);
+            productOrderRepository.saveAll(order.getProducts());
+            lastOrderId = order.getId();
+        }
+    }
+
+    @Test
+    @DisplayName("Testa quantidade de comandos SQL ao buscar uma página de pedidos.")
+    public void test_buscaPaginaDePedidos_quantidadeDeComandosConstante() {
+        statistics.clear();
+
+        Page<Order> firstPage = orderService.getOrdersPageByClient(
+                PageRequest.of(0, 10, Sort.by("id")), EMAIL);
+
+        long firstPageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(10, firstPage.getContent().size());
+        firstPage.forEach(order -> {
+            assertEquals(2, order.getProducts().size());
+            assertEquals(EMAIL, order.getClient().getEmail());
+            assertNotNull(order.getAddress().getType().getDescription());
+            assertNotNull(order.getStore().getCnpj());
+        });
+
+        // cliente, página, contagem e produtos em lote.
+        assertTrue(firstPageStatements <= 4, "Comandos executados: " + firstPageStatements);
+
+        statistics.clear();
+
+        Page<Order> secondPage = orderService.getOrdersPageByClient(
+                PageRequest.of(1, 10, Sort.by("id")), EMAIL);
+        secondPage.forEach(order -> assertEquals(2, order.getProducts().size()));
+
+        assertEquals(firstPageStatements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Testa quantidade de comandos SQL ao buscar um pedido por id.")
+    public void test_buscaPedidoPorId_umComando() {
+        statistics.clear();
+
+        Order order = orderService.getOrderById(lastOrderId, EMAIL);
+
+        assertEquals(2, order.getProducts().size());
+        assertNotNull(order.getAddress().getType().getDescription());
+        assertNotNull(order.getStore().getCnpj());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
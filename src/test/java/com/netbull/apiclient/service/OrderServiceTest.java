@@ -1,20 +1,28 @@
 package com.netbull.apiclient.service;
 
+import com.netbull.apiclient.domain.BulkResult;
 import com.netbull.apiclient.domain.address.Address;
 import com.netbull.apiclient.domain.client.Client;
 import com.netbull.apiclient.domain.order.Order;
 import com.netbull.apiclient.domain.order.*;
+import com.netbull.apiclient.domain.store.CatalogItem;
 import com.netbull.apiclient.domain.store.Product;
+import com.netbull.apiclient.domain.store.ProductCatalog;
 import com.netbull.apiclient.domain.store.ProductRepository;
+import com.netbull.apiclient.domain.store.StockReservation;
 import com.netbull.apiclient.domain.store.Store;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.validation.*;
 import javax.ws.rs.NotFoundException;
@@ -24,6 +32,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -48,6 +57,8 @@ class OrderServiceTest {
 
     ProductRepository productRepository;
 
+    private ProductCatalog productCatalog;
+
     private ClientService clientService;
 
     private AddressService addressService;
@@ -56,6 +67,10 @@ class OrderServiceTest {
 
     private Validator validation;
 
+    private MeterRegistry meterRegistry;
+
+    private StockReservationService stockReservationService;
+
     private Pageable pageable;
 
     private
@@ -80,9 +95,13 @@ class OrderServiceTest {
         this.addressService = Mockito.mock(AddressService.class);
         this.productRepository = Mockito.mock(ProductRepository.class);
         this.rabbitTemplate = Mockito.mock(RabbitTemplate.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.productCatalog = new ProductCatalog(productRepository);
+        this.stockReservationService = Mockito.mock(StockReservationService.class);
         this.orderService = new OrderService(orderRepository, clientService,
-                addressService, productOrderRepository, productRepository,
-                validation, rabbitTemplate);
+                addressService, productOrderRepository, productRepository, productCatalog,
+                validation, rabbitTemplate, meterRegistry, stockReservationService,
+                Mockito.mock(PlatformTransactionManager.class));
 
         this.product = new Product();
         this.product.setPrice(BigDecimal.TEN);
@@ -183,12 +202,43 @@ class OrderServiceTest {
         client.setEmail("a@A");
         client.setName("cris");
 
-        when(productRepository.findProductByCodeAndStore("1", store)).thenReturn(Optional.of(product));
-
         var assertThrows = assertThrows(IllegalArgumentException.class,
                 () -> orderService.persistOrder(order, client.getEmail()));
 
         assertEquals("Há produtos repetidos.", assertThrows.getMessage());
+        then(productRepository).should(times(0)).findProductByCodeAndStore(any(), any());
+    }
+
+    @Test
+    @DisplayName("Testa persistir quando há produtos repetidos fora de sequência.")
+    public void test_persistirQuandoHaProdutosRepetidosForaDeSequencia_lancaException() {
+        Store store = new Store();
+        store.setCnpj("11111111111111");
+
+        ProductOrder productOrder1 = new ProductOrder();
+        productOrder1.setCode("1");
+        productOrder1.setQuantity(BigInteger.ONE);
+        ProductOrder productOrder2 = new ProductOrder();
+        productOrder2.setCode("2");
+        productOrder2.setQuantity(BigInteger.ONE);
+        ProductOrder productOrder3 = new ProductOrder();
+        productOrder3.setCode("3");
+        productOrder3.setQuantity(BigInteger.ONE);
+        ProductOrder repeated = new ProductOrder();
+        repeated.setCode("2");
+        repeated.setQuantity(BigInteger.TEN);
+
+        Order order = new Order();
+        order.setProducts(List.of(productOrder1, productOrder2, productOrder3, repeated));
+        order.setAddress(new Address());
+        order.setStore(store);
+
+        var assertThrows = assertThrows(IllegalArgumentException.class,
+                () -> orderService.persistOrder(order, "a@A"));
+
+        assertEquals("Há produtos repetidos.", assertThrows.getMessage());
+        then(productRepository).should(times(0)).findProductByCodeAndStore(any(), any());
+        then(orderRepository).should(times(0)).save(any());
     }
 
     @Test
@@ -299,9 +349,6 @@ class OrderServiceTest {
     public void test_atribuicaoAutmaticaDeData_Cliente_Valor_Total_Loja() {
         assertNotNull(orderService);
 
-        BigInteger quantityProduct1 = product.getQuantity();
-        BigInteger quantityProduct2 = product2.getQuantity();
-
         Store store = new Store();
         store.setCnpj("11111111111111");
 
@@ -333,6 +380,9 @@ class OrderServiceTest {
         when(clientService.getClientByEmail(any())).thenReturn(client);
         when(productRepository.findProductByCodeAndStore("1", store)).thenReturn(Optional.of(product));
         when(productRepository.findProductByCodeAndStore("2", store)).thenReturn(Optional.of(product2));
+        List<StockReservation> reservations = List.of(new StockReservation(), new StockReservation());
+        when(stockReservationService.reserve(Map.of(CatalogItem.of(product), BigInteger.ONE,
+                CatalogItem.of(product2), BigInteger.TWO))).thenReturn(reservations);
 
         orderService.persistOrder(order, client.getEmail());
 
@@ -342,15 +392,15 @@ class OrderServiceTest {
         assertEquals(productOrder.getPrice().multiply(BigDecimal.valueOf(productOrder.getQuantity().intValue()))
                         .add(productOrder2.getPrice().multiply(BigDecimal.valueOf(productOrder2.getQuantity().intValue()))),
                 order.getTotalValue());
-        assertEquals(quantityProduct1.subtract(productOrder.getQuantity()), product.getQuantity());
-        assertEquals(quantityProduct2.subtract(productOrder2.getQuantity()), product2.getQuantity());
         assertEquals(order.getOrderDispatched(), null);
         assertEquals(order.getOrderDelivered(), null);
 
         then(rabbitTemplate).should(times(1)).convertAndSend(anyString(),
                 anyString(), eq(order));
         then(productOrderRepository).should(times(1)).saveAll(any());
-        then(productRepository).should(times(2)).save(any());
+        then(stockReservationService).should(times(1)).confirm(reservations);
+        then(stockReservationService).should(times(0)).release(any());
+        then(productRepository).should(times(0)).save(any());
         then(orderRepository).should(times(1)).save(any());
     }
 
@@ -359,9 +409,6 @@ class OrderServiceTest {
     public void test_persistirQuandoEnviaEnderecoPeloPedido() {
         assertNotNull(orderService);
 
-        BigInteger quantityProduct1 = product.getQuantity();
-        BigInteger quantityProduct2 = product2.getQuantity();
-
         Store store = new Store();
         store.setCnpj("11111111111111");
 
@@ -394,6 +441,9 @@ class OrderServiceTest {
         when(clientService.getClientByEmail(any())).thenReturn(client);
         when(productRepository.findProductByCodeAndStore("1", store)).thenReturn(Optional.of(product));
         when(productRepository.findProductByCodeAndStore("2", store)).thenReturn(Optional.of(product2));
+        List<StockReservation> reservations = List.of(new StockReservation(), new StockReservation());
+        when(stockReservationService.reserve(Map.of(CatalogItem.of(product), BigInteger.ONE,
+                CatalogItem.of(product2), BigInteger.TWO))).thenReturn(reservations);
 
         orderService.persistOrder(order, client.getEmail());
 
@@ -403,18 +453,164 @@ class OrderServiceTest {
         assertEquals(productOrder.getPrice().multiply(BigDecimal.valueOf(productOrder.getQuantity().intValue()))
                         .add(productOrder2.getPrice().multiply(BigDecimal.valueOf(productOrder2.getQuantity().intValue()))),
                 order.getTotalValue());
-        assertEquals(quantityProduct1.subtract(productOrder.getQuantity()), product.getQuantity());
-        assertEquals(quantityProduct2.subtract(productOrder2.getQuantity()), product2.getQuantity());
         assertEquals(order.getOrderDispatched(), null);
         assertEquals(order.getOrderDelivered(), null);
 
         then(productOrderRepository).should(times(1)).saveAll(any());
-        then(productRepository).should(times(2)).save(any());
+        then(stockReservationService).should(times(1)).confirm(reservations);
+        then(stockReservationService).should(times(0)).release(any());
+        then(productRepository).should(times(0)).save(any());
         then(orderRepository).should(times(1)).save(any());
         then(rabbitTemplate).should(times(1)).convertAndSend(anyString(),
                 anyString(), eq(order));
     }
 
+    @Test
+    @DisplayName("Testa validação dos produtos pelo catálogo em memória.")
+    public void test_persistirQuandoProdutoEstaNoCatalogo_validaSemBuscarNoBanco() {
+        assertNotNull(orderService);
+
+        Store store = new Store();
+        store.setId(BigInteger.ONE);
+        store.setCnpj("11111111111111");
+        product.setId(BigInteger.ONE);
+        product.setStore(store);
+        productCatalog.put(product);
+
+        ProductOrder productOrder = new ProductOrder();
+        productOrder.setCode("1");
+        productOrder.setQuantity(BigInteger.valueOf(100));
+
+        Order order = new Order();
+        order.setProducts(List.of(productOrder));
+        order.setStore(store);
+
+        var assertThrows = assertThrows(IllegalArgumentException.class,
+                () -> orderService.persistOrder(order, ""));
+
+        assertEquals("Não há quantidade disponível suficiente para o produto código: " +
+                        product.getCode() + ", somente há disponível: " + product.getQuantity() + " ítens.",
+                assertThrows.getMessage());
+        then(productRepository).should(times(0)).findProductByCodeAndStore(any(), any());
+    }
+
+    @Test
+    @DisplayName("Testa devolução das reservas de estoque quando a criação do pedido falha.")
+    public void test_persistirPedidoComEnderecoAmbiguo_devolveReservas() {
+        assertNotNull(orderService);
+
+        Store store = new Store();
+        store.setId(BigInteger.ONE);
+        store.setCnpj("11111111111111");
+        product.setStore(store);
+
+        ProductOrder productOrder = new ProductOrder();
+        productOrder.setCode("1");
+        productOrder.setQuantity(BigInteger.TWO);
+
+        Order order = new Order();
+        order.setProducts(List.of(productOrder));
+        order.setStore(store);
+
+        List<StockReservation> reservations = List.of(new StockReservation());
+        when(productRepository.findProductByCodeAndStore("1", store)).thenReturn(Optional.of(product));
+        when(stockReservationService.reserve(Map.of(CatalogItem.of(product), BigInteger.TWO)))
+                .thenReturn(reservations);
+        when(addressService.getAddressByClientEmail(any())).thenReturn(Set.of(new Address(), new Address()));
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.persistOrder(order, "a@A"));
+
+        then(stockReservationService).should(times(0)).confirm(any());
+        then(stockReservationService).should(times(1)).release(reservations);
+        then(orderRepository).should(times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("Testa persistir pedidos em lote com resultado por pedido.")
+    public void test_persistirPedidosEmLote_retornaResultadoPorPedido() {
+        Store store = new Store();
+        store.setId(BigInteger.ONE);
+        store.setCnpj("11111111111111");
+        product.setId(BigInteger.ONE);
+        product.setStore(store);
+
+        Client client = new Client();
+        client.setEmail("a@A");
+        client.setName("cris");
+
+        Address address = new Address();
+        address.setId(BigInteger.ONE);
+        address.setClient(client);
+
+        ProductOrder valid = new ProductOrder();
+        valid.setCode("1");
+        valid.setQuantity(BigInteger.valueOf(6));
+        Order first = new Order();
+        first.setStore(store);
+        first.setProducts(List.of(valid));
+
+        ProductOrder unknown = new ProductOrder();
+        unknown.setCode("9");
+        unknown.setQuantity(BigInteger.ONE);
+        Order second = new Order();
+        second.setStore(store);
+        second.setProducts(List.of(unknown));
+
+        ProductOrder overStock = new ProductOrder();
+        overStock.setCode("1");
+        overStock.setQuantity(BigInteger.valueOf(5));
+        Order third = new Order();
+        third.setStore(store);
+        third.setProducts(List.of(overStock));
+
+        when(clientService.getClientByEmail("a@A")).thenReturn(client);
+        when(addressService.getAddressByClientEmail("a@A")).thenReturn(Set.of(address));
+        when(productRepository.findProductByCodeAndStore("1", store)).thenReturn(Optional.of(product));
+        when(productRepository.findProductByCodeAndStore("9", store)).thenReturn(Optional.empty());
+        List<StockReservation> reservations = List.of(new StockReservation());
+        when(stockReservationService.reserve(Map.of(CatalogItem.of(product), BigInteger.valueOf(6))))
+                .thenReturn(reservations);
+        when(stockReservationService.reserve(Map.of(CatalogItem.of(product), BigInteger.valueOf(5))))
+                .thenThrow(new IllegalArgumentException("Não há quantidade disponível suficiente para o produto " +
+                        "código: 1, somente há disponível: 4 ítens."));
+
+        List<BulkResult> results = orderService.persistOrders(List.of(first, second, third), "a@A");
+
+        assertEquals(3, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(404, results.get(1).getStatus());
+        assertEquals("Produto não encontrado.", results.get(1).getMessage());
+        assertEquals(400, results.get(2).getStatus());
+        assertEquals("Não há quantidade disponível suficiente para o produto código: 1, somente há disponível: " +
+                "4 ítens.", results.get(2).getMessage());
+        assertEquals(BigDecimal.valueOf(60), first.getTotalValue());
+        assertEquals(address, first.getAddress());
+
+        then(clientService).should(times(1)).getClientByEmail("a@A");
+        then(productRepository).should(times(1)).findProductByCodeAndStore("1", store);
+        then(productRepository).should(times(0)).saveAll(any());
+        then(stockReservationService).should(times(1)).confirm(reservations);
+        then(stockReservationService).should(times(0)).release(any());
+        then(orderRepository).should(times(1)).saveAll(List.of(first));
+        then(rabbitTemplate).should(times(1)).convertAndSend("order-store", "order.store.created", first);
+    }
+
+    @Test
+    @DisplayName("Testa persistir pedidos em lote acima do limite.")
+    public void test_persistirPedidosEmLoteAcimaDoLimite_lancaException() {
+        List<Order> orders = new ArrayList<>();
+        for (int x = 0; x <= Order.BULK_MAX_SIZE; x++) {
+            orders.add(new Order());
+        }
+
+        var assertThrows = assertThrows(IllegalArgumentException.class,
+                () -> orderService.persistOrders(orders, "a@A"));
+
+        assertEquals("São permitidos no máximo " + Order.BULK_MAX_SIZE + " pedidos por envio.",
+                assertThrows.getMessage());
+        then(orderRepository).should(times(0)).saveAll(any());
+    }
+
     @Test
     @DisplayName("Testa alteração do pedido para entregue quando não encontra.")
     public void test_alteracaoDoPedidoParaEntregueQuandoNaoEncontra_lancaException() {
@@ -537,16 +733,72 @@ class OrderServiceTest {
         order.setState(OrderState.ENVIADO);
 
         when(orderRepository.findById(any())).thenReturn(Optional.of(order));
+        when(orderRepository.updateDelivered(any(), any(), any(), any(), any())).thenReturn(1);
 
         orderService.setOrderStateToDelivered(BigInteger.ONE, client.getEmail(), OrderState.ENTREGUE);
 
         assertEquals(order.getState(), OrderState.ENTREGUE);
         assertEquals(order.getOrderDelivered(), LocalDate.now());
-        then(orderRepository).should(times(1)).save(any());
+        then(orderRepository).should(times(1)).updateDelivered(BigInteger.ONE, OrderState.ENTREGUE,
+                LocalDate.now(), OrderState.ENVIADO, null);
+        then(orderRepository).should(times(0)).save(any());
         then(rabbitTemplate).should(times(1)).convertAndSend(anyString(),
                 anyString(), eq(order));
     }
 
+    @Test
+    @DisplayName("Testa alteração do pedido para entregue quando outra operação altera o pedido antes.")
+    public void test_alteracaoDoPedidoParaEntregueComConflito_tentaNovamente() {
+        Client client = new Client();
+        client.setEmail("a@A");
+
+        Order stale = new Order();
+        stale.setClient(client);
+        stale.setState(OrderState.ENVIADO);
+        stale.setVersion(1L);
+
+        Order current = new Order();
+        current.setClient(client);
+        current.setState(OrderState.ENVIADO);
+        current.setVersion(2L);
+
+        when(orderRepository.findById(any())).thenReturn(Optional.of(stale), Optional.of(current));
+        when(orderRepository.updateDelivered(any(), any(), any(), any(), eq(1L))).thenReturn(0);
+        when(orderRepository.updateDelivered(any(), any(), any(), any(), eq(2L))).thenReturn(1);
+
+        orderService.setOrderStateToDelivered(BigInteger.ONE, client.getEmail(), OrderState.ENTREGUE);
+
+        assertEquals(OrderState.ENTREGUE, current.getState());
+        then(orderRepository).should(times(2)).findById(BigInteger.ONE);
+        then(rabbitTemplate).should(times(1)).convertAndSend(anyString(), anyString(), eq(current));
+        assertEquals(1, meterRegistry.get("app.order.state.conflicts")
+                .tag("result", "retried").counter().count());
+    }
+
+    @Test
+    @DisplayName("Testa alteração do pedido para entregue quando os conflitos esgotam as tentativas.")
+    public void test_alteracaoDoPedidoParaEntregueComConflitosSeguidos_lancaException() {
+        Client client = new Client();
+        client.setEmail("a@A");
+
+        Order order = new Order();
+        order.setClient(client);
+        order.setState(OrderState.ENVIADO);
+
+        when(orderRepository.findById(any())).thenReturn(Optional.of(order));
+        when(orderRepository.updateDelivered(any(), any(), any(), any(), any())).thenReturn(0);
+
+        var assertThrows = assertThrows(ConcurrencyFailureException.class,
+                () -> orderService.setOrderStateToDelivered(BigInteger.ONE, "a@A", OrderState.ENTREGUE));
+
+        assertEquals("O pedido foi alterado por outra operação, tente novamente.", assertThrows.getMessage());
+        assertEquals(OrderState.ENVIADO, order.getState());
+        then(orderRepository).should(times(Order.STATE_UPDATE_ATTEMPTS)).findById(BigInteger.ONE);
+        then(rabbitTemplate).should(times(0)).convertAndSend(anyString(), anyString(), any(Object.class));
+        assertEquals(1, meterRegistry.get("app.order.state.conflicts")
+                .tag("result", "rejected").counter().count());
+    }
+
     @Test
     @DisplayName("Testa busca pedido por ID quando não econtra.")
     public void test_buscaPedidoPorIdQuandoNaoEncontra_lancaException() {
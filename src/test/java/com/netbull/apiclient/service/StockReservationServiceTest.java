@@ -0,0 +1,174 @@
+package com.netbull.apiclient.service;
+
+import com.netbull.apiclient.domain.store.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StockReservationServiceTest {
+
+    private StockReservationService stockReservationService;
+
+    private StockReservationRepository stockReservationRepository;
+
+    private ProductRepository productRepository;
+
+    private ProductCatalog productCatalog;
+
+    private HotStockCounters hotStockCounters;
+
+    private MeterRegistry meterRegistry;
+
+    private Store store;
+
+    @BeforeEach
+    public void setupBeforEach() {
+        this.stockReservationRepository = Mockito.mock(StockReservationRepository.class);
+        this.productRepository = Mockito.mock(ProductRepository.class);
+        this.productCatalog = new ProductCatalog(productRepository);
+        this.hotStockCounters = new HotStockCounters(productRepository, productCatalog,
+                Mockito.mock(PlatformTransactionManager.class), Set.of(), 4);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.stockReservationService = new StockReservationService(stockReservationRepository, productRepository,
+                productCatalog, hotStockCounters, meterRegistry, Duration.ofSeconds(30));
+
+        this.store = new Store();
+        this.store.setId(BigInteger.ONE);
+        this.store.setCnpj("11111111111111");
+    }
+
+    @Test
+    @DisplayName("Testa reserva do estoque, com baixa por produto em ordem de id e atualização do catálogo.")
+    public void test_reservaEstoque_baixaEmOrdemEAtualizaCatalogo() {
+        CatalogItem first = productCatalog.put(newProduct(BigInteger.valueOf(2), "1"));
+        CatalogItem second = productCatalog.put(newProduct(BigInteger.ONE, "2"));
+        when(productRepository.reserveQuantity(any(), any())).thenReturn(1);
+
+        Instant before = Instant.now();
+        List<StockReservation> reservations = stockReservationService.reserve(
+                Map.of(first, BigInteger.TWO, second, BigInteger.ONE));
+
+        assertEquals(BigInteger.ONE, reservations.get(0).getProductId());
+        assertEquals(BigInteger.ONE, reservations.get(0).getQuantity());
+        assertEquals(BigInteger.valueOf(2), reservations.get(1).getProductId());
+        assertEquals(BigInteger.TWO, reservations.get(1).getQuantity());
+        assertFalse(reservations.get(0).getExpires().isBefore(before.plusSeconds(30)));
+
+        assertEquals(BigInteger.valueOf(8), productCatalog.find(store, "1").get().getQuantity());
+        assertEquals(BigInteger.valueOf(9), productCatalog.find(store, "2").get().getQuantity());
+        then(stockReservationRepository).should(times(1)).saveAll(reservations);
+        then(productRepository).should(times(0)).findProductsByStore(any());
+    }
+
+    @Test
+    @DisplayName("Testa reserva do estoque quando outro pedido baixou a quantidade antes.")
+    public void test_reservaEstoqueSemQuantidade_lancaException() {
+        CatalogItem product = productCatalog.put(newProduct(BigInteger.ONE, "1"));
+        when(productRepository.reserveQuantity(BigInteger.ONE, BigInteger.TWO)).thenReturn(0);
+        when(productRepository.findQuantityById(BigInteger.ONE)).thenReturn(BigInteger.ONE);
+
+        var assertThrows = assertThrows(IllegalArgumentException.class,
+                () -> stockReservationService.reserve(Map.of(product, BigInteger.TWO)));
+
+        assertEquals("Não há quantidade disponível suficiente para o produto código: 1, somente há disponível: " +
+                "1 ítens.", assertThrows.getMessage());
+        assertEquals(BigInteger.ONE, productCatalog.find(store, "1").get().getQuantity());
+        then(stockReservationRepository).should(times(0)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Testa reserva de produto de alta procura, baixando só o estoque em memória.")
+    public void test_reservaProdutoDeAltaProcura_baixaEmMemoria() {
+        Product hot = newProduct(BigInteger.ONE, "1");
+        CatalogItem other = productCatalog.put(newProduct(BigInteger.TWO, "2"));
+        hotStockCounters.register(hot);
+        when(productRepository.reserveQuantity(BigInteger.TWO, BigInteger.ONE)).thenReturn(0);
+        when(productRepository.findQuantityById(BigInteger.TWO)).thenReturn(BigInteger.ZERO);
+
+        List<StockReservation> reservations = stockReservationService.reserve(
+                Map.of(CatalogItem.of(hot), BigInteger.valueOf(4)));
+
+        assertTrue(reservations.get(0).isInMemory());
+        assertEquals(BigInteger.valueOf(6), hotStockCounters.available(BigInteger.ONE));
+        then(productRepository).should(times(0)).reserveQuantity(BigInteger.ONE, BigInteger.valueOf(4));
+        then(stockReservationRepository).should(times(1)).saveAll(List.of());
+
+        stockReservationService.confirm(reservations);
+        then(stockReservationRepository).should(times(0)).deleteByIds(any());
+
+        assertThrows(IllegalArgumentException.class, () -> stockReservationService.reserve(
+                Map.of(CatalogItem.of(hot), BigInteger.TWO, other, BigInteger.ONE)));
+        assertEquals(BigInteger.valueOf(6), hotStockCounters.available(BigInteger.ONE));
+
+        stockReservationService.release(reservations);
+        assertEquals(BigInteger.TEN, hotStockCounters.available(BigInteger.ONE));
+    }
+
+    @Test
+    @DisplayName("Testa confirmação de reservas que já expiraram.")
+    public void test_confirmaReservaExpirada_lancaException() {
+        List<StockReservation> reservations = List.of(newReservation(BigInteger.ONE), newReservation(BigInteger.TWO));
+        when(stockReservationRepository.deleteByIds(List.of(BigInteger.ONE, BigInteger.TWO))).thenReturn(1);
+
+        var assertThrows = assertThrows(ConcurrencyFailureException.class,
+                () -> stockReservationService.confirm(reservations));
+
+        assertEquals("A reserva de estoque expirou, tente novamente.", assertThrows.getMessage());
+    }
+
+    @Test
+    @DisplayName("Testa devolução das reservas expiradas, ignorando as já confirmadas.")
+    public void test_devolveReservasExpiradas_somenteAsPendentes() {
+        StockReservation expired = newReservation(BigInteger.ONE);
+        StockReservation confirmed = newReservation(BigInteger.TWO);
+        when(stockReservationRepository.findTop500ByExpiresBeforeOrderByExpires(any()))
+                .thenReturn(List.of(expired, confirmed));
+        when(stockReservationRepository.deleteByIds(List.of(BigInteger.ONE))).thenReturn(1);
+        when(stockReservationRepository.deleteByIds(List.of(BigInteger.TWO))).thenReturn(0);
+
+        stockReservationService.releaseExpired();
+
+        ArgumentCaptor<BigInteger> productId = ArgumentCaptor.forClass(BigInteger.class);
+        then(productRepository).should(times(1)).releaseQuantity(productId.capture(), any());
+        assertEquals(expired.getProductId(), productId.getValue());
+        assertEquals(1, meterRegistry.counter("app.stock.reservations.released", "reason", "expired").count());
+    }
+
+    private Product newProduct(BigInteger id, String code) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCode(code);
+        product.setPrice(BigDecimal.TEN);
+        product.setQuantity(BigInteger.TEN);
+        product.setStore(store);
+        return product;
+    }
+
+    private StockReservation newReservation(BigInteger id) {
+        StockReservation reservation = StockReservation.of(BigInteger.TEN.add(id), BigInteger.ONE, Instant.now());
+        reservation.setId(id);
+        return reservation;
+    }
+}